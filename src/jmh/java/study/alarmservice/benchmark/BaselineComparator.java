@@ -0,0 +1,71 @@
+package study.alarmservice.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JMH JSON 결과를 baseline과 비교해서 벤치마크별 변화율을 출력한다.
+ * 점수가 threshold(%) 이상 나빠지면 종료 코드 1을 반환한다.
+ * (AverageTime, SampleTime, SingleShotTime은 낮을수록, Throughput은 높을수록 좋음)
+ *
+ * usage: BaselineComparator <baseline.json> <result.json> [threshold%]
+ */
+public class BaselineComparator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BaselineComparator <baseline.json> <result.json> [threshold%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> result = read(new File(args[1]));
+
+        boolean regressed = false;
+        for (Map.Entry<String, JsonNode> entry : result.entrySet()) {
+            JsonNode base = baseline.get(entry.getKey());
+            JsonNode current = entry.getValue();
+            double score = current.path("primaryMetric").path("score").asDouble();
+            String unit = current.path("primaryMetric").path("scoreUnit").asText();
+            if (base == null) {
+                System.out.printf("%-90s %14.3f %-10s (new)%n", entry.getKey(), score, unit);
+                continue;
+            }
+
+            double baseScore = base.path("primaryMetric").path("score").asDouble();
+            double change = (score - baseScore) / baseScore * 100;
+            boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+            double worse = higherIsBetter ? -change : change;
+            if (worse >= threshold) {
+                regressed = true;
+            }
+            System.out.printf("%-90s %14.3f %-10s %+8.1f%% %s%n", entry.getKey(), score, unit, change, worse >= threshold ? "REGRESSION" : "");
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    /**
+     * key: benchmark + mode + params
+     */
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode node : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(node.path("benchmark").asText())
+                    .append(" [").append(node.path("mode").asText()).append("]");
+            Iterator<Map.Entry<String, JsonNode>> params = node.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), node);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,82 @@
+package study.alarmservice.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import study.alarmservice.AlarmServiceApplication;
+import study.alarmservice.domain.UserEmailNgram;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * macro 벤치마크용 애플리케이션 컨텍스트와 H2 데이터 준비
+ * 회원은 INSERT ... SELECT로 한 번에 넣고, 시퀀스를 그 다음 값으로 맞춘다.
+ */
+public final class BenchmarkContext {
+
+    public static final String PASSWORD = "abcd1234!";
+    public static final String EMAIL_DOMAIN = "@example.com";
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType, Map<String, Object> properties) {
+        Map<String, Object> defaults = new HashMap<>();
+        defaults.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";NON_KEYWORDS=USER");
+        defaults.put("spring.h2.console.enabled", false);
+        defaults.put("spring.jpa.properties.hibernate.format_sql", false);
+        defaults.put("logging.level.root", "warn");
+        defaults.put("logging.level.org.hibernate.SQL", "warn");
+        defaults.put("app.password-hash.bcrypt-strength", 10);
+        defaults.put("app.auth.token.secret", "benchmark");
+        defaults.putAll(properties);
+
+        // application.yml보다 우선하도록 커맨드라인 인자로 넘긴다.
+        String[] args = defaults.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(AlarmServiceApplication.class)
+                .web(webApplicationType)
+                .run(args);
+    }
+
+    public static String email(long userId) {
+        return "user" + userId + EMAIL_DOMAIN;
+    }
+
+    /**
+     * user1@example.com ~ user{count}@example.com (id = 번호)
+     */
+    public static void seedUsers(JdbcTemplate jdbcTemplate, int count) {
+        String hash = "{bcrypt}" + new BCryptPasswordEncoder(10).encode(PASSWORD);
+        // emailHash는 User.hashEmail을 H2 함수로 등록해서 같은 값으로 채운다.
+        jdbcTemplate.execute("create alias if not exists email_hash for 'study.alarmservice.domain.User.hashEmail'");
+        jdbcTemplate.update("insert into user (user_id, email, normalized_email, email_hash, password, role, created_date, last_modified_date) "
+                + "select x, e, e, email_hash(e), ?, 'GUEST', now(), now() "
+                + "from (select x, 'user' || x || '" + EMAIL_DOMAIN + "' e from system_range(1, ?))", hash, count);
+        // pooled 시퀀스는 받은 값을 블록의 끝으로 쓰므로(allocationSize 50) count + 50부터 시작해야 count + 1부터 할당된다.
+        jdbcTemplate.execute("alter sequence user_seq restart with " + (count + 50));
+    }
+
+    public static void seedEmailNgrams(JdbcTemplate jdbcTemplate, int count) {
+        List<Object[]> batch = new ArrayList<>();
+        for (long userId = 1; userId <= count; userId++) {
+            for (String gram : UserEmailNgram.gramsOf(email(userId))) {
+                batch.add(new Object[]{gram, userId});
+            }
+            if (batch.size() >= 10_000) {
+                jdbcTemplate.batchUpdate("insert into user_email_ngram (gram, user_id) values (?, ?)", batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into user_email_ngram (gram, user_id) values (?, ?)", batch);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package study.alarmservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.alarmservice.domain.User;
+import study.alarmservice.repository.UserRepository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 회원 조회: normalizedEmail(varchar unique 인덱스) vs emailHash(bigint 인덱스 후 이메일 비교)
+ * 내장 H2라 인덱스별 크기를 볼 수 없어서 setup에서 키 크기(평균 이메일 길이 vs 8바이트)를 출력한다.
+ * 가입 이메일 필터와 backfill은 꺼서 조회만 잰다.
+ * Repository 호출은 트랜잭션/영속성 컨텍스트 비용이 커서 인덱스 차이가 묻히므로, JDBC로 id만 찾는 경우도 함께 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1500m")
+public class EmailLookupBenchmark {
+
+    @Param({"1000000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.NONE, Map.of(
+                "app.email-filter.enabled", false,
+                "app.email-hash-backfill.enabled", false));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkContext.seedUsers(jdbcTemplate, users);
+        userRepository = context.getBean(UserRepository.class);
+
+        double emailKeyBytes = jdbcTemplate.queryForObject("select avg(octet_length(normalized_email)) from user", Double.class);
+        System.out.printf("%nusers=%d, index keys: normalized_email=%.1f bytes (%d MB), email_hash=%d bytes (%d MB)%n",
+                users, emailKeyBytes, (long) (emailKeyBytes * users) >> 20, Long.BYTES, (long) Long.BYTES * users >> 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> findByNormalizedEmail() {
+        return userRepository.findByNormalizedEmail(existingEmail());
+    }
+
+    @Benchmark
+    public Optional<User> findByHashedEmail() {
+        return userRepository.findByHashedEmail(existingEmail());
+    }
+
+    @Benchmark
+    public Long jdbcByNormalizedEmail() {
+        return jdbcTemplate.queryForObject("select user_id from user where normalized_email = ?", Long.class, existingEmail());
+    }
+
+    @Benchmark
+    public Long jdbcByEmailHash() {
+        String email = existingEmail();
+        return jdbcTemplate.queryForObject("select user_id from user where email_hash = ? and normalized_email = ?",
+                Long.class, User.hashEmail(email), email);
+    }
+
+    private String existingEmail() {
+        return BenchmarkContext.email(1 + ThreadLocalRandom.current().nextInt(users));
+    }
+}
@@ -0,0 +1,83 @@
+package study.alarmservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.alarmservice.dto.request.EmailSearchType;
+import study.alarmservice.dto.request.UserSearchDto;
+import study.alarmservice.dto.response.UserPageResponseDto;
+import study.alarmservice.service.UserService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이메일 검색: 앞부분 일치(PREFIX), trigram 인덱스(CONTAINS), 인덱스 없는 LIKE '%keyword%'
+ * trigram 테이블은 회원당 행이 많아서 1M은 제외한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class EmailSearchBenchmark {
+
+    private static final String PREFIX_KEYWORD = "user777";
+    private static final String CONTAINS_KEYWORD = "er777";
+
+    @Param({"10000", "100000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.NONE, Map.of());
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkContext.seedUsers(jdbcTemplate, users);
+        BenchmarkContext.seedEmailNgrams(jdbcTemplate, users);
+        userService = context.getBean(UserService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserPageResponseDto prefix() {
+        return userService.findAll(search(PREFIX_KEYWORD, EmailSearchType.PREFIX));
+    }
+
+    @Benchmark
+    public UserPageResponseDto containsTrigram() {
+        return userService.findAll(search(CONTAINS_KEYWORD, EmailSearchType.CONTAINS));
+    }
+
+    /**
+     * trigram 인덱스 도입 전 방식 (목록 + count 모두 full scan)
+     */
+    @Benchmark
+    public int containsLike() {
+        String pattern = "%" + CONTAINS_KEYWORD + "%";
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select user_id from user where email like ? order by user_id desc limit 10", Long.class, pattern);
+        Integer count = jdbcTemplate.queryForObject("select count(*) from user where email like ?", Integer.class, pattern);
+        return ids.size() + count;
+    }
+
+    private UserSearchDto search(String keyword, EmailSearchType searchType) {
+        UserSearchDto userSearchDto = UserSearchDto.builder()
+                .page(1)
+                .size(10)
+                .build();
+        userSearchDto.setSearchEmail(keyword);
+        userSearchDto.setSearchType(searchType);
+        return userSearchDto;
+    }
+}
@@ -0,0 +1,106 @@
+package study.alarmservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import study.alarmservice.cache.ErrorResponseCache;
+import study.alarmservice.controller.ExceptionApiController;
+import study.alarmservice.controller.UserApiController;
+import study.alarmservice.dto.request.UserCreateRequestDto;
+import study.alarmservice.dto.response.ErrorResponseDto;
+import study.alarmservice.exception.UserNotFoundException;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExceptionApiController 에러 응답 생성과 UserCreateRequestDto Bean Validation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+    private ResourceBundleMessageSource messageSource;
+    private ObjectMapper objectMapper;
+    private ExceptionApiController exceptionApiController;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private MethodParameter joinParameter;
+    private UserCreateRequestDto valid;
+    private UserCreateRequestDto invalid;
+
+    @Setup
+    public void setUp() throws Exception {
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        objectMapper = new ObjectMapper();
+        exceptionApiController = new ExceptionApiController(messageSource, new ErrorResponseCache(messageSource, objectMapper));
+        LocaleContextHolder.setLocale(Locale.KOREA);
+
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        joinParameter = new MethodParameter(UserApiController.class.getMethod("join", UserCreateRequestDto.class), 0);
+        valid = UserCreateRequestDto.builder().email("user1@example.com").password("abcd1234!").build();
+        invalid = UserCreateRequestDto.builder().email("user1").password("1234").build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    /**
+     * 예외 생성부터 응답 본문(JSON)까지
+     */
+    @Benchmark
+    public ResponseEntity<byte[]> customRuntimeException() {
+        return exceptionApiController.customRuntimeException(new UserNotFoundException());
+    }
+
+    /**
+     * 이전 방식: stack trace가 있는 예외, 매번 메시지 조회와 ErrorResponseDto 직렬화
+     */
+    @Benchmark
+    public byte[] customRuntimeExceptionLegacy() throws Exception {
+        String message = messageSource.getMessage("user.notFound", null, LocaleContextHolder.getLocale());
+        RuntimeException e = new RuntimeException(message);
+        ErrorResponseDto responseDto = ErrorResponseDto.builder()
+                .code(404)
+                .message(e.getMessage())
+                .build();
+        return objectMapper.writeValueAsBytes(responseDto);
+    }
+
+    @Benchmark
+    public ErrorResponseDto methodArgumentNotValid() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(invalid, "userCreateRequestDto");
+        bindingResult.rejectValue("email", "Email", "email.format");
+        bindingResult.rejectValue("password", "Pattern", "password.pattern");
+        return exceptionApiController.methodArgumentNotValidException(new MethodArgumentNotValidException(joinParameter, bindingResult));
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserCreateRequestDto>> validateValid() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserCreateRequestDto>> validateInvalid() {
+        return validator.validate(invalid);
+    }
+}
@@ -0,0 +1,78 @@
+package study.alarmservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tomcat 요청 스레드: platform thread vs virtual thread (spring.threads.virtual.enabled)
+ * Tomcat 스레드 수(16)보다 많은 동시 요청(64)으로 실제 HTTP 엔드포인트를 호출한다.
+ * 페이지 캐시는 끄고(max-size=0) 매 요청 DB를 조회하도록 한다.
+ * 처리량은 thrpt, 지연 시간은 sample 모드의 percentile로 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(64)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class ExecutionModeBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.SERVLET, Map.of(
+                "server.port", 0,
+                "server.tomcat.threads.max", 16,
+                "spring.threads.virtual.enabled", virtualThreads,
+                "app.user-page-cache.max-size", 0));
+        BenchmarkContext.seedUsers(context.getBean(JdbcTemplate.class), USERS);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/v1";
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int findAllPage() throws Exception {
+        int page = 1 + ThreadLocalRandom.current().nextInt(USERS / 20);
+        return get("/users?size=20&countMode=CONCURRENT&page=" + page);
+    }
+
+    @Benchmark
+    public int findAllCursor() throws Exception {
+        return get("/users?size=20&mode=CURSOR");
+    }
+
+    private int get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,149 @@
+package study.alarmservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.alarmservice.domain.User;
+import study.alarmservice.dto.request.UserCreateRequestDto;
+import study.alarmservice.exception.EmailDuplicateException;
+import study.alarmservice.repository.UserRepository;
+import study.alarmservice.service.PasswordHasher;
+import study.alarmservice.service.UserEmailNgramIndexer;
+import study.alarmservice.service.UserService;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 동시 회원가입: 바로 insert 후 unique 제약 위반으로 중복 판단(UserService.join) vs 이메일 조회 후 insert(이전 방식)
+ * - distinct: 스레드마다 새 이메일
+ * - duplicate: 연속한 8번의 가입이 같은 새 이메일을 쓴다. (스레드끼리 거의 동시에 같은 이메일로 가입, 1건 성공 7건 중복)
+ * 중복 결과는 EmailDuplicateException(duplicates)과 그 외 제약 위반 예외(constraintErrors)로 나눠 센다.
+ * BCrypt 비용을 줄여서 DB 경로가 보이도록 strength 4로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class JoinBenchmark {
+
+    private static final int SIGN_UPS_PER_EMAIL = 8;
+    private static final int USERS = 10_000;
+
+    private final AtomicLong sequence = new AtomicLong(USERS);
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private PasswordHasher passwordHasher;
+    private UserEmailNgramIndexer userEmailNgramIndexer;
+    private TransactionTemplate transactionTemplate;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+
+        public long duplicates;
+        public long constraintErrors;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            duplicates = 0;
+            constraintErrors = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.NONE, Map.of(
+                "app.password-hash.bcrypt-strength", 4,
+                "app.password-hash.queue-capacity", 4096));
+        BenchmarkContext.seedUsers(context.getBean(JdbcTemplate.class), USERS);
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        passwordHasher = context.getBean(PasswordHasher.class);
+        userEmailNgramIndexer = context.getBean(UserEmailNgramIndexer.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void insertDistinct(Outcomes outcomes) {
+        join(distinctEmail(), outcomes);
+    }
+
+    @Benchmark
+    public void insertDuplicate(Outcomes outcomes) {
+        join(duplicateEmail(), outcomes);
+    }
+
+    @Benchmark
+    public void checkThenInsertDistinct(Outcomes outcomes) {
+        checkThenJoin(distinctEmail(), outcomes);
+    }
+
+    @Benchmark
+    public void checkThenInsertDuplicate(Outcomes outcomes) {
+        checkThenJoin(duplicateEmail(), outcomes);
+    }
+
+    private void join(String email, Outcomes outcomes) {
+        try {
+            userService.join(request(email));
+        } catch (EmailDuplicateException e) {
+            outcomes.duplicates++;
+        } catch (DataIntegrityViolationException e) {
+            outcomes.constraintErrors++;
+        }
+    }
+
+    /**
+     * 이전 UserService.join: 조회 후 없으면 save, insert는 커밋 때 실행된다.
+     * (조회와 커밋 사이에 같은 이메일이 들어오면 커밋 시점 제약 위반)
+     */
+    private void checkThenJoin(String email, Outcomes outcomes) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                User user = request(email).toEntity();
+                if (userRepository.findByNormalizedEmail(user.getNormalizedEmail()).isPresent()) {
+                    throw new EmailDuplicateException();
+                }
+                user.hashPassword(passwordHasher.encode(user.getPassword()));
+                user.guestUser();
+                userRepository.save(user);
+                userEmailNgramIndexer.index(user);
+            });
+        } catch (EmailDuplicateException e) {
+            outcomes.duplicates++;
+        } catch (DataIntegrityViolationException e) {
+            outcomes.constraintErrors++;
+        }
+    }
+
+    private String distinctEmail() {
+        return BenchmarkContext.email(sequence.incrementAndGet());
+    }
+
+    private String duplicateEmail() {
+        return "dup" + (sequence.incrementAndGet() / SIGN_UPS_PER_EMAIL) + BenchmarkContext.EMAIL_DOMAIN;
+    }
+
+    private static UserCreateRequestDto request(String email) {
+        return UserCreateRequestDto.builder()
+                .email(email)
+                .password(BenchmarkContext.PASSWORD)
+                .build();
+    }
+}
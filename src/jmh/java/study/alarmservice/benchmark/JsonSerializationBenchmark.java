@@ -0,0 +1,48 @@
+package study.alarmservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import study.alarmservice.dto.request.PagingRequest;
+import study.alarmservice.dto.response.UserPageResponseDto;
+import study.alarmservice.dto.response.UserResponseDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserPageResponseDto Jackson 직렬화 (스프링 기본 ObjectMapper 설정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private UserPageResponseDto page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<UserResponseDto> users = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            users.add(new UserResponseDto(i, BenchmarkContext.email(i)));
+        }
+        page = UserPageResponseDto.builder()
+                .users(users)
+                .paging(PagingRequest.of(1, size, 100_000, 10))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,101 @@
+package study.alarmservice.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.alarmservice.domain.User;
+import study.alarmservice.dto.request.UserSearchDto;
+import study.alarmservice.dto.response.UserResponseDto;
+import study.alarmservice.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 목록/단건 조회: 엔티티 조회 후 UserResponseDto 변환 vs UserResponseDto로 바로 조회(projection)
+ * 회원 10k, 내장 H2. 할당량은 -prof gc로 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListingProjectionBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({"20", "100"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private UserSearchDto userSearchDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.NONE, Map.of());
+        BenchmarkContext.seedUsers(context.getBean(JdbcTemplate.class), USERS);
+        userRepository = context.getBean(UserRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        userSearchDto = UserSearchDto.builder()
+                .page(3)
+                .size(size)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserResponseDto> pageEntity() {
+        List<User> rows = userRepository.findUsers(userSearchDto);
+        List<UserResponseDto> users = new ArrayList<>(rows.size());
+        for (User user : rows) {
+            users.add(new UserResponseDto(user));
+        }
+        return users;
+    }
+
+    @Benchmark
+    public List<UserResponseDto> pageProjection() {
+        return userRepository.findUserResponses(userSearchDto);
+    }
+
+    @Benchmark
+    public UserResponseDto findByIdEntity() {
+        return userRepository.findById(randomUserId())
+                .map(UserResponseDto::new)
+                .orElseThrow();
+    }
+
+    /**
+     * JPQL constructor 조회를 EntityManager로 직접 실행 (QueryDSL 쿼리 문자열 생성, Spring Data @Query 실행 비용 제외)
+     */
+    @Benchmark
+    public UserResponseDto findByIdProjection() {
+        long userId = randomUserId();
+        return transactionTemplate.execute(status -> entityManager
+                .createQuery("select new study.alarmservice.dto.response.UserResponseDto(u.id, u.email) from User u where u.id = :id",
+                        UserResponseDto.class)
+                .setParameter("id", userId)
+                .getSingleResult());
+    }
+
+    private static long randomUserId() {
+        return 1L + ThreadLocalRandom.current().nextInt(USERS);
+    }
+}
@@ -0,0 +1,65 @@
+package study.alarmservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import study.alarmservice.i18n.CompiledMessageSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MessageSource 조회 비용: ResourceBundleMessageSource(이전) vs CompiledMessageSource
+ * resolvable은 검증 실패 메시지처럼 앞쪽 code들이 없고 마지막 code에서 찾는 경우
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageSourceBenchmark {
+
+    @Param({"resourceBundle", "compiled"})
+    private String source;
+
+    private MessageSource messageSource;
+    private DefaultMessageSourceResolvable resolvable;
+
+    @Setup
+    public void setUp() {
+        if (source.equals("compiled")) {
+            messageSource = new CompiledMessageSource(List.of("messages", "errors"), Duration.ZERO);
+        } else {
+            ResourceBundleMessageSource resourceBundleMessageSource = new ResourceBundleMessageSource();
+            resourceBundleMessageSource.setBasenames("messages", "errors");
+            resourceBundleMessageSource.setDefaultEncoding("UTF-8");
+            messageSource = resourceBundleMessageSource;
+        }
+        resolvable = new DefaultMessageSourceResolvable(
+                new String[]{"Email.userCreateRequestDto.email", "Email.email", "Email.java.lang.String", "email.format"});
+    }
+
+    @Benchmark
+    public String message() {
+        return messageSource.getMessage("user.notFound", null, Locale.KOREA);
+    }
+
+    @Benchmark
+    public String messageFallbackLocale() {
+        return messageSource.getMessage("user.notFound", null, Locale.US);
+    }
+
+    @Benchmark
+    public String messageWithArguments() {
+        return messageSource.getMessage("user.notFound", new Object[]{1L}, Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public String resolvable() {
+        return messageSource.getMessage(resolvable, Locale.KOREA);
+    }
+}
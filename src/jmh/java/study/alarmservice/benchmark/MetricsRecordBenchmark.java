@@ -0,0 +1,46 @@
+package study.alarmservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import study.alarmservice.metrics.LatencyHistogram;
+import study.alarmservice.metrics.MetricsRegistry;
+import study.alarmservice.service.UserService;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지연 시간 기록 비용 (MetricsRegistry 조회 + LatencyHistogram.record)
+ * 여러 스레드가 같은 히스토그램에 기록하는 경우를 측정한다.
+ * -prof gc 로 실행해서 gc.alloc.rate.norm이 0 B/op인지 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class MetricsRecordBenchmark {
+
+    private MetricsRegistry metricsRegistry;
+    private LatencyHistogram histogram;
+    private Method handler;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        metricsRegistry = new MetricsRegistry();
+        histogram = new LatencyHistogram();
+        handler = UserService.class.getMethod("findById", Long.class);
+    }
+
+    @Benchmark
+    public void record() {
+        histogram.record(ThreadLocalRandom.current().nextLong(1_000_000_000L));
+    }
+
+    @Benchmark
+    public void registryLookupAndRecord() {
+        metricsRegistry.handler(handler).record(ThreadLocalRandom.current().nextLong(1_000_000_000L));
+    }
+}
@@ -0,0 +1,58 @@
+package study.alarmservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import study.alarmservice.domain.Role;
+import study.alarmservice.domain.User;
+import study.alarmservice.dto.request.PagingRequest;
+import study.alarmservice.dto.response.UserPageResponseDto;
+import study.alarmservice.dto.response.UserResponseDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserService.findAll의 응답 변환 (User -> UserResponseDto, PagingRequest.of)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagingMappingBenchmark {
+
+    @Param({"10", "100"})
+    private int size;
+
+    private List<User> rows;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(User.builder()
+                    .email(BenchmarkContext.email(i))
+                    .password("password")
+                    .role(Role.GUEST)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public PagingRequest pagingRequest() {
+        return PagingRequest.of(3, size, 100_000, 10);
+    }
+
+    @Benchmark
+    public UserPageResponseDto toPageResponse() {
+        List<UserResponseDto> users = new ArrayList<>(rows.size());
+        for (User user : rows) {
+            users.add(new UserResponseDto(user));
+        }
+        return UserPageResponseDto.builder()
+                .users(users)
+                .paging(PagingRequest.of(3, size, 100_000, 10))
+                .build();
+    }
+}
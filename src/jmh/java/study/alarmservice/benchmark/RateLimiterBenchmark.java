@@ -0,0 +1,68 @@
+package study.alarmservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import study.alarmservice.ratelimit.RateLimiter;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 rate limit: CAS 슬롯 테이블(RateLimiter) vs ConcurrentHashMap.compute로 key별 TAT 갱신
+ * hot: 64 스레드가 key 하나 (한 IP에서 몰리는 credential stuffing), spread: key 10k
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int KEYS = 10_000;
+    private static final long INTERVAL_NANOS = Duration.ofMinutes(1).toNanos() / 5;
+    private static final long TOLERANCE_NANOS = INTERVAL_NANOS * 5;
+
+    @Param({"hot", "spread"})
+    private String keys;
+
+    private String[] keyPool;
+    private RateLimiter rateLimiter;
+    private ConcurrentHashMap<String, Long> tats;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keyPool = new String[keys.equals("hot") ? 1 : KEYS];
+        for (int i = 0; i < keyPool.length; i++) {
+            keyPool[i] = "user" + i + "@gmail.com";
+        }
+        rateLimiter = new RateLimiter(5, Duration.ofMinutes(1), 65536);
+        tats = new ConcurrentHashMap<>();
+    }
+
+    @Benchmark
+    public boolean slotTable() {
+        return rateLimiter.tryAcquire(randomKey());
+    }
+
+    @Benchmark
+    public boolean concurrentHashMap() {
+        long now = System.nanoTime();
+        boolean[] allowed = new boolean[1];
+        tats.compute(randomKey(), (key, tat) -> {
+            long nextTat = (tat == null ? now : Math.max(tat, now)) + INTERVAL_NANOS;
+            if (nextTat - now > TOLERANCE_NANOS) {
+                return tat;
+            }
+            allowed[0] = true;
+            return nextTat;
+        });
+        return allowed[0];
+    }
+
+    private String randomKey() {
+        return keyPool[ThreadLocalRandom.current().nextInt(keyPool.length)];
+    }
+}
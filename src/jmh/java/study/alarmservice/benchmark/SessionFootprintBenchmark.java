@@ -0,0 +1,113 @@
+package study.alarmservice.benchmark;
+
+import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.session.StandardManager;
+import org.apache.catalina.session.StandardSession;
+import org.openjdk.jmh.annotations.*;
+import study.alarmservice.constant.SessionConst;
+import study.alarmservice.domain.LoginUser;
+import study.alarmservice.domain.Role;
+import study.alarmservice.domain.User;
+import study.alarmservice.session.OffHeapSessionStore;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 세션 N개를 만들었을 때 힙에 남는 크기
+ * - TOMCAT_USER: Tomcat StandardSession + User 엔티티 (user-007 이전)
+ * - TOMCAT_LOGIN_USER: Tomcat StandardSession + LoginUser
+ * - OFFHEAP: OffHeapSessionStore (slab은 direct memory)
+ * retainedBytesPerSession(aux counter)이 세션당 힙 사용량, directBytesPerSession은 세션당 direct memory(slab),
+ * 점수는 세션 N개 생성 시간(GC 포함)이다.
+ * aux counter 점수는 반복(iteration) 합계로 출력되므로 결과 JSON의 rawData(반복별 값)를 본다.
+ * 세션 id는 클라이언트(쿠키)가 가지고 있으므로 서버 힙에 남기지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-XX:MaxDirectMemorySize=256m"})
+public class SessionFootprintBenchmark {
+
+    public enum Store {
+        TOMCAT_USER,
+        TOMCAT_LOGIN_USER,
+        OFFHEAP
+    }
+
+    @Param({"TOMCAT_USER", "TOMCAT_LOGIN_USER", "OFFHEAP"})
+    private Store store;
+
+    @Param({"100000"})
+    private int sessions;
+
+    private StandardManager manager;
+    private OffHeapSessionStore offHeapSessionStore;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedBytesPerSession;
+        public long directBytesPerSession;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        StandardContext context = new StandardContext();
+        manager = new StandardManager();
+        manager.setContext(context);
+        offHeapSessionStore = new OffHeapSessionStore(sessions, Duration.ofMinutes(30), Clock.systemUTC());
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        manager = null;
+        offHeapSessionStore = null;
+    }
+
+    @Benchmark
+    public void createSessions(Footprint footprint) {
+        long before = usedHeap();
+        for (int i = 0; i < sessions; i++) {
+            long userId = i + 1;
+            switch (store) {
+                case TOMCAT_USER -> tomcatSession().setAttribute(SessionConst.LOGIN_USER, User.builder()
+                        .email(BenchmarkContext.email(userId))
+                        .password("{bcrypt}$2a$10$0123456789012345678901234567890123456789012345678901")
+                        .role(Role.GUEST)
+                        .build());
+                case TOMCAT_LOGIN_USER -> tomcatSession().setAttribute(SessionConst.LOGIN_USER, new LoginUser(userId, Role.GUEST));
+                case OFFHEAP -> {
+                    String sessionId = offHeapSessionStore.create();
+                    offHeapSessionStore.setLoginUser(sessionId, new LoginUser(userId, Role.GUEST));
+                }
+            }
+        }
+        footprint.retainedBytesPerSession = (usedHeap() - before) / sessions;
+        footprint.directBytesPerSession = store == Store.OFFHEAP ? offHeapSessionStore.getSlabBytes() / sessions : 0;
+    }
+
+    private StandardSession tomcatSession() {
+        StandardSession session = new StandardSession(manager);
+        session.setNew(true);
+        session.setValid(true);
+        session.setCreationTime(System.currentTimeMillis());
+        session.setMaxInactiveInterval(1800);
+        session.setId(UUID.randomUUID().toString());
+        return session;
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
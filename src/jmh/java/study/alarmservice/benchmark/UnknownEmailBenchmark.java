@@ -0,0 +1,63 @@
+package study.alarmservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.alarmservice.cache.RegisteredEmailFilter;
+import study.alarmservice.domain.User;
+import study.alarmservice.repository.UserRepository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 없는 이메일로 로그인할 때 UserNotFoundException 전까지의 비용: 가입 이메일 필터 vs 회원 조회(findByNormalizedEmail, unique 인덱스)
+ * 회원 100k, 내장 H2 (네트워크 왕복이 없으므로 실제 DB보다 차이가 작게 나온다.)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnknownEmailBenchmark {
+
+    private static final int USERS = 100_000;
+
+    private ConfigurableApplicationContext context;
+    private RegisteredEmailFilter registeredEmailFilter;
+    private UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.NONE, Map.of("app.email-filter.enabled", true));
+        BenchmarkContext.seedUsers(context.getBean(JdbcTemplate.class), USERS);
+        registeredEmailFilter = context.getBean(RegisteredEmailFilter.class);
+        userRepository = context.getBean(UserRepository.class);
+        while (!registeredEmailFilter.rebuild()) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean filter() {
+        return registeredEmailFilter.mightExist(unknownEmail());
+    }
+
+    @Benchmark
+    public Optional<User> findByNormalizedEmail() {
+        return userRepository.findByNormalizedEmail(unknownEmail());
+    }
+
+    private static String unknownEmail() {
+        return BenchmarkContext.email(USERS + 1 + ThreadLocalRandom.current().nextInt(USERS));
+    }
+}
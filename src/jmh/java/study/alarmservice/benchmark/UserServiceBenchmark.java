@@ -0,0 +1,103 @@
+package study.alarmservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.alarmservice.cache.UserResponseCache;
+import study.alarmservice.dto.request.CountMode;
+import study.alarmservice.dto.request.PagingCursor;
+import study.alarmservice.dto.request.UserSearchDto;
+import study.alarmservice.dto.response.UserPageResponseDto;
+import study.alarmservice.dto.response.UserResponseDto;
+import study.alarmservice.service.UserService;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실제 UserService + 내장 H2 (회원 10k/100k/1M)
+ * - 첫 페이지: count 모드별 (EXACT, NONE)
+ * - 깊은 페이지: offset vs 커서
+ * - 단건 조회: 캐시 hit vs miss
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class UserServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserResponseCache userResponseCache;
+    private int deepPage;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.NONE, Map.of());
+        BenchmarkContext.seedUsers(context.getBean(JdbcTemplate.class), users);
+        userService = context.getBean(UserService.class);
+        userResponseCache = context.getBean(UserResponseCache.class);
+
+        // 최신순 정렬이므로 깊은 페이지는 id가 작은 쪽이다.
+        deepPage = users / PAGE_SIZE - 1;
+        deepCursor = PagingCursor.encode((long) PAGE_SIZE * 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserPageResponseDto firstPageExactCount() {
+        return userService.findAll(search(1, CountMode.EXACT));
+    }
+
+    @Benchmark
+    public UserPageResponseDto firstPageNoCount() {
+        return userService.findAll(search(1, CountMode.NONE));
+    }
+
+    @Benchmark
+    public UserPageResponseDto deepPageOffset() {
+        return userService.findAll(search(deepPage, CountMode.NONE));
+    }
+
+    @Benchmark
+    public UserPageResponseDto deepPageCursor() {
+        UserSearchDto userSearchDto = search(1, CountMode.NONE);
+        userSearchDto.setAfter(deepCursor);
+        return userService.findAll(userSearchDto);
+    }
+
+    @Benchmark
+    public UserResponseDto findByIdCached() {
+        return userService.findById(1L + ThreadLocalRandom.current().nextInt(100));
+    }
+
+    @Benchmark
+    public UserResponseDto findByIdUncached() {
+        long userId = 1L + ThreadLocalRandom.current().nextInt(users);
+        userResponseCache.invalidate(userId);
+        return userService.findById(userId);
+    }
+
+    private UserSearchDto search(int page, CountMode countMode) {
+        UserSearchDto userSearchDto = UserSearchDto.builder()
+                .page(page)
+                .size(PAGE_SIZE)
+                .build();
+        userSearchDto.setCountMode(countMode);
+        return userSearchDto;
+    }
+}
@@ -0,0 +1,112 @@
+package study.alarmservice.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 문자열 Bloom filter
+ * mightContain이 false면 add된 적이 없는 값이고, true면 fpp 정도의 확률로 add된 적이 없는 값일 수 있다.
+ * 비트 배열은 AtomicLongArray라서 add와 mightContain을 락 없이 동시에 호출할 수 있다. (삭제는 지원하지 않는다.)
+ *
+ * 비트 수 m = -n * ln(p) / (ln 2)^2, hash 수 k = m / n * ln 2
+ * n = 5천만, p = 1%면 m = 약 4.8억 bit(57MiB), k = 7
+ * hash k개는 64bit hash 두 개를 조합해서 만든다. (Kirsch-Mitzenmacher double hashing)
+ */
+public class BloomFilter {
+
+    private static final int MAX_HASHES = 16;
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+    private final long expectedInsertions;
+    private final LongAdder bitsSet = new LongAdder();
+
+    public BloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions < 1 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("Invalid bloom filter size: " + expectedInsertions + ", fpp " + fpp);
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        long wordCount = (bits + Long.SIZE - 1) / Long.SIZE;
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large: " + bits + " bits");
+        }
+
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bitSize = wordCount * Long.SIZE;
+        this.hashCount = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) bitSize / expectedInsertions * Math.log(2))));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    public void add(CharSequence value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            // 이미 켜진 비트는 쓰지 않아서 같은 값이 반복돼도 cache line을 더럽히지 않는다.
+            if ((words.get(index) & mask) == 0
+                    && (words.getAndAccumulate(index, mask, (word, m) -> word | m) & mask) == 0) {
+                bitsSet.increment();
+            }
+        }
+    }
+
+    public boolean mightContain(CharSequence value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 지금 켜진 비트 비율로 추정한 false positive 확률 (비트 비율 ^ k)
+     * 예상 건수보다 많이 add되면 설정한 fpp보다 커진다.
+     */
+    public double falsePositiveRate() {
+        return Math.pow((double) bitsSet.sum() / bitSize, hashCount);
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public long getBitsSet() {
+        return bitsSet.sum();
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    public long getMemoryBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    private static long hash(CharSequence value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,73 @@
+package study.alarmservice.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import study.alarmservice.dto.response.ErrorResponseDto;
+import study.alarmservice.exception.CustomRuntimeException;
+import study.alarmservice.i18n.CompiledMessageSource;
+
+import java.io.UncheckedIOException;
+import java.util.Locale;
+
+/**
+ * CustomRuntimeException 응답 본문(ErrorResponseDto JSON) 캐시
+ * (messageKey, statusCode, locale) 마다 메시지 조회와 직렬화를 한 번만 하고, 이후에는 같은 byte[]를 그대로 쓴다.
+ * locale은 쿠키로 임의의 값이 들어올 수 있으므로 항목 수를 제한한다.
+ * 생성할 때 메시지를 넘긴 예외는 캐시하지 않고 매번 직렬화한다.
+ * CompiledMessageSource가 메시지를 다시 읽으면 비운다.
+ */
+@Component
+public class ErrorResponseCache {
+
+    private static final int MAX_ENTRIES = 256;
+
+    private final MessageSource messageSource;
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, byte[]> cache;
+
+    public ErrorResponseCache(MessageSource messageSource, ObjectMapper objectMapper) {
+        this.messageSource = messageSource;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(MAX_ENTRIES)
+                .build();
+        if (messageSource instanceof CompiledMessageSource compiledMessageSource) {
+            compiledMessageSource.addReloadListener(this::clear);
+        }
+    }
+
+    public byte[] get(CustomRuntimeException e, Locale locale) {
+        String message = e.getResolvedMessage();
+        if (message != null) {
+            return serialize(e.getStatusCode(), message);
+        }
+        return cache.get(new Key(e.getMessageKey(), e.getStatusCode(), locale),
+                key -> serialize(key.statusCode(), messageSource.getMessage(key.messageKey(), null, key.locale())));
+    }
+
+    /**
+     * 메시지가 바뀐 경우(CompiledMessageSource.reload) 다시 만들도록 비운다.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private byte[] serialize(int statusCode, String message) {
+        ErrorResponseDto responseDto = ErrorResponseDto.builder()
+                .code(statusCode)
+                .message(message)
+                .build();
+        try {
+            return objectMapper.writeValueAsBytes(responseDto);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Key(String messageKey, int statusCode, Locale locale) {
+    }
+}
@@ -0,0 +1,201 @@
+package study.alarmservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.alarmservice.datasource.PrimaryStickiness;
+import study.alarmservice.domain.User;
+import study.alarmservice.dto.response.EmailFilterStatsDto;
+import study.alarmservice.event.UserJoinedEvent;
+import study.alarmservice.metrics.MetricsRegistry;
+import study.alarmservice.repository.UserRepository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 가입된 이메일의 Bloom filter (로그인 negative cache)
+ * 필터에 없는 이메일은 가입된 적이 없으므로 로그인에서 회원 조회(DB) 없이 거절한다.
+ * 가입된 이메일은 항상 통과하고, 없는 이메일도 fpp 확률로 통과해서 DB에서 확인한다.
+ * 로그인과 같이 정규화한 이메일(User.normalizeEmail)로 넣고 찾는다.
+ *
+ * 시작할 때 전체 이메일을 읽어서 만들고, 만드는 동안에는 모든 이메일을 통과시킨다.
+ * 전체 이메일은 primary에서 읽는다. (replica에 복제되기 전인 회원이 빠지면 그 회원은 로그인할 수 없다.)
+ * 가입(UserJoinedEvent)은 커밋 전에 바로 추가한다. 롤백되면 false positive가 하나 늘 뿐이다.
+ * 회원 삭제는 반영하지 않으므로(Bloom filter는 삭제 불가) rebuild로 다시 만든다.
+ * 노드마다 따로 가지므로 다른 노드에서 가입했거나 DB에 직접 넣은 회원은 rebuild 전까지 로그인할 수 없다.
+ * 그래서 기본은 꺼져 있고, 모든 가입이 이 노드를 거치는 경우(단일 노드)에만 켠다.
+ */
+@Slf4j
+@Component
+public class RegisteredEmailFilter {
+
+    private final UserRepository userRepository;
+    private final PrimaryStickiness primaryStickiness;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double fpp;
+
+    private volatile BloomFilter current;
+    // rebuild 중에 가입한 이메일은 새 필터에도 추가한다.
+    private volatile BloomFilter pending;
+    // 커밋 전인 가입 이메일 -> 건수, rebuild의 전체 조회에서 보이지 않을 수 있어서 새 필터에 따로 넣는다.
+    private final ConcurrentMap<String, Integer> uncommitted = new ConcurrentHashMap<>();
+    private final AtomicBoolean building = new AtomicBoolean();
+    private final LongAdder rejected = new LongAdder();
+
+    public RegisteredEmailFilter(UserRepository userRepository,
+                                 PrimaryStickiness primaryStickiness,
+                                 PlatformTransactionManager transactionManager,
+                                 MetricsRegistry metricsRegistry,
+                                 @Value("${app.email-filter.enabled:false}") boolean enabled,
+                                 @Value("${app.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${app.email-filter.fpp:0.01}") double fpp) {
+        this.userRepository = userRepository;
+        this.primaryStickiness = primaryStickiness;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+
+        metricsRegistry.counter("alarm_email_filter_rejected_total", "Logins rejected as unknown emails without a user lookup", rejected::sum);
+        metricsRegistry.gauge("alarm_email_filter_false_positive_rate", "Estimated false positive rate of the registered email filter",
+                () -> {
+                    BloomFilter filter = current;
+                    return filter == null ? 1.0 : filter.falsePositiveRate();
+                });
+        metricsRegistry.gauge("alarm_email_filter_bytes", "Memory used by the registered email filter",
+                () -> {
+                    BloomFilter filter = current;
+                    return filter == null ? 0L : filter.getMemoryBytes();
+                });
+    }
+
+    /**
+     * @return false면 가입된 적이 없는 이메일, true면 가입됐을 수 있는 이메일 (필터가 준비되지 않았으면 항상 true)
+     */
+    public boolean mightExist(String email) {
+        BloomFilter filter = current;
+        if (filter == null || email == null || filter.mightContain(User.normalizeEmail(email))) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * 가입 트랜잭션 안에서(커밋 전에) 바로 추가해서, 커밋 직후 로그인이 필터에 막히지 않도록 한다.
+     */
+    @EventListener
+    public void onUserJoined(UserJoinedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        String email = User.normalizeEmail(event.getEmail());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            uncommitted.merge(email, 1, Integer::sum);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    uncommitted.computeIfPresent(email, (key, count) -> count == 1 ? null : count - 1);
+                }
+            });
+        }
+        // rebuild는 current를 바꾼 뒤 pending을 비우므로 pending을 먼저 읽어야 새 필터를 놓치지 않는다.
+        BloomFilter next = pending;
+        if (next != null) {
+            next.add(email);
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.add(email);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildAsync();
+    }
+
+    /**
+     * 별도 스레드에서 rebuild 한다.
+     * @return false면 이미 만드는 중
+     */
+    public boolean rebuildAsync() {
+        if (!enabled || !building.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(this::build, "email-filter-builder");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * 전체 이메일을 읽어서 새 필터를 만든 뒤 바꾼다. 만드는 동안에는 기존 필터를 계속 사용한다.
+     * 회원 수가 expected-insertions를 넘었으면 회원 수의 1.25배 크기로 만든다.
+     * @return false면 이미 만드는 중이거나 실패 (기존 필터를 계속 사용)
+     */
+    public boolean rebuild() {
+        if (!enabled || !building.compareAndSet(false, true)) {
+            return false;
+        }
+        return build();
+    }
+
+    private boolean build() {
+        try {
+            return primaryStickiness.onPrimary(this::buildFilter);
+        } catch (RuntimeException e) {
+            log.warn("Registered email filter build failed, keeping the previous filter", e);
+            return false;
+        } finally {
+            pending = null;
+            building.set(false);
+        }
+    }
+
+    private boolean buildFilter() {
+        long startedAt = System.nanoTime();
+        long users = userRepository.count();
+        BloomFilter filter = new BloomFilter(Math.max(expectedInsertions, users + users / 4), fpp);
+        pending = filter;
+        uncommitted.keySet().forEach(filter::add);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> emails = userRepository.streamAllNormalizedEmails()) {
+                emails.forEach(filter::add);
+            }
+        });
+
+        current = filter;
+        log.info("Registered email filter built: users={}, bytes={}, hashes={}, fpp={}, elapsed={}ms", users,
+                filter.getMemoryBytes(), filter.getHashCount(), filter.falsePositiveRate(), (System.nanoTime() - startedAt) / 1_000_000);
+        return true;
+    }
+
+    public EmailFilterStatsDto getStats() {
+        BloomFilter filter = current;
+        return EmailFilterStatsDto.builder()
+                .enabled(enabled)
+                .ready(filter != null)
+                .building(building.get())
+                .expectedInsertions(filter == null ? 0 : filter.getExpectedInsertions())
+                .memoryBytes(filter == null ? 0 : filter.getMemoryBytes())
+                .hashCount(filter == null ? 0 : filter.getHashCount())
+                .falsePositiveRate(filter == null ? 1.0 : filter.falsePositiveRate())
+                .rejectedCount(rejected.sum())
+                .build();
+    }
+}
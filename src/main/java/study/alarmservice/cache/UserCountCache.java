@@ -0,0 +1,65 @@
+package study.alarmservice.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import study.alarmservice.datasource.PrimaryStickiness;
+import study.alarmservice.event.UserJoinedEvent;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 전체 회원 수 캐시 (CountMode.CACHED)
+ * 최초 조회 시 count 쿼리로 적재하고, 이후에는 회원가입 커밋마다 1씩 증가시킨다.
+ * 다른 노드에서 가입한 회원은 반영되지 않으므로 ttl마다 count 쿼리로 다시 맞춘다.
+ * 가입 직후에 적재하면 replica에 복제되기 전의 count를 ttl 동안 쓰게 되므로 sticky-window 동안은 primary에서 센다.
+ * count 쿼리 중에 커밋된 가입은 결과에 포함됐는지 알 수 없으므로(두 번 세거나 빠짐) 그 결과는 저장하지 않고 다음 조회에서 다시 센다.
+ */
+@Component
+public class UserCountCache {
+
+    private static final long EMPTY = -1L;
+
+    private final AtomicLong count = new AtomicLong(EMPTY);
+    private final AtomicLong joins = new AtomicLong();
+    private final PrimaryStickiness primaryStickiness;
+    private final long ttlNanos;
+    private volatile long loadedAt;
+
+    public UserCountCache(PrimaryStickiness primaryStickiness,
+                          @Value("${app.user-count.cache-ttl:5m}") Duration ttl) {
+        this.primaryStickiness = primaryStickiness;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public long get(LongSupplier loader) {
+        long cached = count.get();
+        if (cached != EMPTY && System.nanoTime() - loadedAt < ttlNanos) {
+            return cached;
+        }
+
+        long joinsBefore = joins.get();
+        long loaded = primaryStickiness.read(PrimaryStickiness.USER_LIST, loader::getAsLong);
+        store(loaded, joinsBefore);
+        return loaded;
+    }
+
+    private synchronized void store(long loaded, long joinsBefore) {
+        if (joins.get() == joinsBefore) {
+            count.set(loaded);
+            loadedAt = System.nanoTime();
+        }
+    }
+
+    public void invalidate() {
+        count.set(EMPTY);
+    }
+
+    @TransactionalEventListener
+    public synchronized void onUserJoined(UserJoinedEvent event) {
+        joins.incrementAndGet();
+        count.getAndUpdate(current -> current == EMPTY ? EMPTY : current + 1);
+    }
+}
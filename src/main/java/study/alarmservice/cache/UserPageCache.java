@@ -0,0 +1,120 @@
+package study.alarmservice.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import study.alarmservice.datasource.PrimaryStickiness;
+import study.alarmservice.dto.request.CountMode;
+import study.alarmservice.dto.request.EmailSearchType;
+import study.alarmservice.dto.request.UserSearchDto;
+import study.alarmservice.dto.response.UserPageResponseDto;
+import study.alarmservice.event.UserJoinedEvent;
+import study.alarmservice.event.UserUpdatedEvent;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 회원 리스트(GET /api/v1/users) 페이지 캐시
+ * 직렬화된 JSON과 ETag를 검색 조건별로 저장한다.
+ * 회원 테이블 버전은 회원가입/변경 커밋마다 증가하고, 다른 버전으로 만든 페이지는 사용하지 않는다.
+ * 버전은 조회 전에 읽고, 조회가 끝났을 때도 같은 버전인 경우에만 저장한다. (느린 조회가 더 새 페이지를 덮어쓰지 않도록)
+ * 가입 직후에 적재하면 replica에 복제되기 전의 페이지를 ttl 동안 쓰게 되므로 sticky-window 동안은 primary에서 읽는다.
+ * 커서 페이징은 캐시하지 않는다.
+ */
+@Component
+public class UserPageCache {
+
+    private final ObjectMapper objectMapper;
+    private final PrimaryStickiness primaryStickiness;
+    private final Cache<PageKey, CachedPage> cache;
+    private final AtomicLong version = new AtomicLong();
+
+    public UserPageCache(ObjectMapper objectMapper,
+                         PrimaryStickiness primaryStickiness,
+                         @Value("${app.user-page-cache.max-size:1000}") long maxSize,
+                         @Value("${app.user-page-cache.ttl:1m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.primaryStickiness = primaryStickiness;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public CachedPage get(UserSearchDto userSearchDto, Supplier<UserPageResponseDto> loader) {
+        if (userSearchDto.isCursorMode()) {
+            return serialize(version.get(), loader.get());
+        }
+
+        PageKey key = PageKey.of(userSearchDto);
+        long current = version.get();
+        CachedPage cached = cache.getIfPresent(key);
+        if (cached != null && cached.version == current) {
+            return cached;
+        }
+
+        CachedPage page = serialize(current, primaryStickiness.read(PrimaryStickiness.USER_LIST, loader));
+        if (version.get() == current) {
+            cache.asMap().merge(key, page, (existing, loaded) -> existing.version > loaded.version ? existing : loaded);
+        }
+        return page;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    @TransactionalEventListener
+    public void onUserJoined(UserJoinedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        version.incrementAndGet();
+    }
+
+    private CachedPage serialize(long version, UserPageResponseDto responseDto) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(responseDto);
+            return new CachedPage(version, body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Getter
+    public static class CachedPage {
+
+        private final long version;
+        private final byte[] body;
+        private final String etag; // 내용 해시이므로 노드가 달라도 같은 내용이면 같은 값
+
+        CachedPage(long version, byte[] body, String etag) {
+            this.version = version;
+            this.body = body;
+            this.etag = etag;
+        }
+    }
+
+    private record PageKey(int page, int size, String searchEmail, EmailSearchType searchType, CountMode countMode) {
+
+        static PageKey of(UserSearchDto userSearchDto) {
+            return new PageKey(userSearchDto.getPage(), userSearchDto.getSize(), userSearchDto.getSearchEmail(),
+                    userSearchDto.getSearchType(), userSearchDto.getCountMode());
+        }
+    }
+}
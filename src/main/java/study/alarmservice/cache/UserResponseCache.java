@@ -0,0 +1,127 @@
+package study.alarmservice.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import study.alarmservice.dto.response.UserCacheStatsDto;
+import study.alarmservice.dto.response.UserResponseDto;
+import study.alarmservice.event.UserJoinedEvent;
+import study.alarmservice.event.UserUpdatedEvent;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 회원 단건 조회(UserService.findById) 캐시
+ * 크기(max-size)와 ttl로 제한하고, 항목마다 조회 수를 기록해서 자주 조회되는 회원을 확인할 수 있다.
+ * 회원 데이터가 바뀌면(UserJoinedEvent, UserUpdatedEvent) 커밋 이후에 해당 항목을 지운다.
+ * 한 노드 안에서만 일관성을 보장한다.
+ */
+@Component
+public class UserResponseCache {
+
+    private static final int HOT_ENTRIES = 10;
+
+    private final AsyncCache<Long, Entry> cache;
+
+    public UserResponseCache(@Value("${app.user-cache.max-size:10000}") long maxSize,
+                             @Value("${app.user-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * 같은 id를 동시에 조회해도 loader는 한 번만 실행된다.
+     * loader(DB 조회)는 캐시 내부 lock(ConcurrentHashMap.compute의 synchronized) 밖에서 실행해서
+     * virtual thread가 JDBC 대기 중에 carrier thread를 잡고 있지(pinning) 않도록 한다.
+     * loader가 예외를 던지면(존재하지 않는 회원) 캐시하지 않는다.
+     */
+    public UserResponseDto get(Long userId, Function<Long, UserResponseDto> loader) {
+        CompletableFuture<Entry> loading = new CompletableFuture<>();
+        CompletableFuture<Entry> future = cache.get(userId, (id, executor) -> loading);
+        if (future == loading) {
+            try {
+                loading.complete(new Entry(loader.apply(userId)));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        Entry entry;
+        try {
+            entry = future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        entry.hits.increment();
+        return entry.value;
+    }
+
+    public void invalidate(Long userId) {
+        cache.synchronous().invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void onUserJoined(UserJoinedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    /**
+     * 트랜잭션 밖에서 발행된 경우(로그인 재해시)에도 바로 무효화한다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    public UserCacheStatsDto getStats() {
+        Cache<Long, Entry> synchronous = cache.synchronous();
+        CacheStats stats = synchronous.stats();
+        long now = System.nanoTime();
+        List<UserCacheStatsDto.Entry> hotEntries = synchronous.asMap().entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> -e.getValue().hits.sum()))
+                .limit(HOT_ENTRIES)
+                .map(e -> new UserCacheStatsDto.Entry(e.getKey(), e.getValue().hits.sum(), Duration.ofNanos(now - e.getValue().loadedAt).toSeconds()))
+                .toList();
+
+        return UserCacheStatsDto.builder()
+                .size(synchronous.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .hotEntries(hotEntries)
+                .build();
+    }
+
+    private static class Entry {
+
+        private final UserResponseDto value;
+        private final LongAdder hits = new LongAdder();
+        private final long loadedAt = System.nanoTime();
+
+        Entry(UserResponseDto value) {
+            this.value = value;
+        }
+    }
+}
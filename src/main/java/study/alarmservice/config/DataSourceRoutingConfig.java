@@ -0,0 +1,102 @@
+package study.alarmservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import study.alarmservice.datasource.ReplicaLagMonitor;
+import study.alarmservice.datasource.ReplicaRoutingDataSource;
+import study.alarmservice.metrics.MetricsRegistry;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * app.datasource.routing.enabled=true 이면 spring.datasource를 primary로, app.datasource.routing.replicas를 replica로 쓴다.
+ * 대상마다 Hikari 풀을 따로 두고, 빈으로는 라우팅 DataSource 하나만 등록한다.
+ * (풀까지 빈으로 등록하면 MetricsConfig의 datasource-proxy가 풀도 감싸서 SQL을 두 번 센다.)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final ScheduledExecutorService lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-checker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties,
+                                               MetricsRegistry metricsRegistry,
+                                               @Value("${app.datasource.routing.replicas:}") List<String> replicaUrls,
+                                               @Value("${app.datasource.routing.primary-pool-size:10}") int primaryPoolSize,
+                                               @Value("${app.datasource.routing.replica-pool-size:10}") int replicaPoolSize,
+                                               @Value("${app.datasource.routing.max-lag:1s}") Duration maxLag,
+                                               @Value("${app.datasource.routing.check-interval:500ms}") Duration checkInterval) {
+        if (maxLag.compareTo(checkInterval) <= 0) {
+            throw new IllegalArgumentException("Replica max-lag must be longer than check-interval: " + maxLag + " <= " + checkInterval);
+        }
+
+        DataSource primary = pool(properties, "primary", properties.determineUrl(), primaryPoolSize);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (!url.isBlank()) {
+                String name = "replica-" + (replicas.size() + 1);
+                replicas.put(name, pool(properties, name, url.trim(), replicaPoolSize));
+            }
+        }
+
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replicas, maxLag.toMillis(), metricsRegistry);
+        monitor.check();
+        long interval = checkInterval.toMillis();
+        lagChecker.scheduleWithFixedDelay(() -> {
+            try {
+                monitor.check();
+            } catch (RuntimeException e) {
+                log.warn("Replica lag check failed", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Read-only transactions are routed to {} replica(s), max lag {}", replicas.size(), maxLag);
+        return monitor;
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaLagMonitor replicaLagMonitor, MetricsRegistry metricsRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(replicaLagMonitor, metricsRegistry));
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, String name, String url, int size) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(size);
+        pools.add(pool);
+        return pool;
+    }
+
+    /**
+     * 풀은 빈이 아니므로 직접 닫는다. (DataSource를 쓰는 빈이 모두 정리된 뒤 호출된다.)
+     */
+    @PreDestroy
+    public void shutdown() {
+        lagChecker.shutdown();
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -1,15 +1,18 @@
 package study.alarmservice.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
-import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.i18n.CookieLocaleResolver;
 import org.springframework.web.servlet.i18n.SessionLocaleResolver;
+import study.alarmservice.i18n.CompiledMessageSource;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Locale;
 
 @Configuration
@@ -28,12 +31,14 @@ public class I18nConfig {
         return cookieLocaleResolver;
     }
 
+    /**
+     * messages, errors 파일을 시작할 때 locale별 배열로 컴파일해 둔 MessageSource
+     * app.i18n.reload-interval이 0보다 크면 주기적으로 파일을 다시 읽고, 바뀐 경우에만 교체한다.
+     * @return MessageSource
+     */
     @Bean
-    public MessageSource messageSource() {
-        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
-        messageSource.setBasenames("messages", "errors");
-        messageSource.setDefaultEncoding("UTF-8");
-        return messageSource;
+    public MessageSource messageSource(@Value("${app.i18n.reload-interval:0s}") Duration reloadInterval) {
+        return new CompiledMessageSource(List.of("messages", "errors"), reloadInterval);
     }
 
     /**
@@ -0,0 +1,80 @@
+package study.alarmservice.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import study.alarmservice.metrics.MetricsRegistry;
+import study.alarmservice.metrics.RepositoryMetricsInterceptor;
+import study.alarmservice.metrics.RequestMetricsFilter;
+import study.alarmservice.metrics.ResultSetRowCounter;
+import study.alarmservice.metrics.SqlStatementListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 다른 필터(세션, 인코딩 등)까지 포함한 전체 처리 시간을 재도록 가장 먼저 실행한다.
+     */
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MetricsRegistry metricsRegistry,
+                                                                           @Value("${app.sql.n-plus-one.threshold:5}") int nPlusOneThreshold,
+                                                                           @Value("${app.sql.n-plus-one.fail:false}") boolean failOnNPlusOne) {
+        FilterRegistrationBean<RequestMetricsFilter> registration = new FilterRegistrationBean<>(
+                new RequestMetricsFilter(metricsRegistry, nPlusOneThreshold, failOnNPlusOne));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * 리포지토리 프록시가 만들어지기 전에 RepositoryMetricsInterceptor를 가장 바깥에 추가한다.
+     * (트랜잭션 시작, 커넥션 획득 시간까지 포함)
+     * BeanPostProcessor는 다른 빈보다 먼저 만들어지므로 static으로 선언하고 MetricsRegistry는 나중에 찾는다.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MetricsRegistry> metricsRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(0, new RepositoryMetricsInterceptor(metricsRegistry.getObject(), repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * DataSource를 datasource-proxy로 감싸서 SQL 실행마다 SqlStatementListener를 호출한다.
+     * select 결과 row 수는 ResultSet을 프록시로 감싸야 셀 수 있어서 row마다 비용이 들므로 count-rows=true 일 때만 센다.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatementPostProcessor(@Value("${app.sql.slow-threshold:200ms}") Duration slowThreshold,
+                                                              @Value("${app.sql.count-rows:false}") boolean countRows) {
+        SqlStatementListener listener = new SqlStatementListener(slowThreshold.toNanos());
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(listener);
+                    if (countRows) {
+                        builder.proxyResultSet(new ResultSetRowCounter());
+                    }
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+}
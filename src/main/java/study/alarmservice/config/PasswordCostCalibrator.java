@@ -0,0 +1,53 @@
+package study.alarmservice.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 서버 성능에 맞춰 BCrypt 비밀번호 해시 비용(work factor)을 정한다.
+ * 낮은 비용으로 몇 번 해시해서 걸린 시간을 재고, 목표 시간을 넘지 않는 가장 큰 비용을 고른다.
+ * 단, 보안상 최소 비용보다 낮아지지는 않는다.
+ */
+public final class PasswordCostCalibrator {
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibrate1234!";
+
+    private static final int BCRYPT_PROBE_STRENGTH = 6;
+    private static final int BCRYPT_MAX_STRENGTH = 16;
+
+    private PasswordCostCalibrator() {
+    }
+
+    /**
+     * BCrypt는 strength가 1 증가할 때마다 비용이 2배가 된다.
+     * strength는 해시 값에 함께 저장되므로 서버마다 값이 달라도 검증에는 문제가 없다.
+     */
+    public static int bcryptStrength(Duration targetLatency, int minStrength) {
+        long probeNanos = measure(new BCryptPasswordEncoder(BCRYPT_PROBE_STRENGTH));
+        int strength = BCRYPT_PROBE_STRENGTH;
+        while (strength < BCRYPT_MAX_STRENGTH && probeNanos * (1L << (strength + 1 - BCRYPT_PROBE_STRENGTH)) <= targetLatency.toNanos()) {
+            strength++;
+        }
+        return Math.max(strength, minStrength);
+    }
+
+    /**
+     * JIT 워밍업 영향을 줄이기 위해 한 번 버리고, 나머지의 중앙값을 사용한다.
+     */
+    private static long measure(PasswordEncoder passwordEncoder) {
+        passwordEncoder.encode(SAMPLE_PASSWORD);
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long startedAt = System.nanoTime();
+            passwordEncoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -1,15 +1,46 @@
 package study.alarmservice.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 
+import java.time.Duration;
+import java.util.Map;
+
+@Slf4j
 @Configuration
 public class SecurityConfig {
 
+    /**
+     * DelegatingPasswordEncoder
+     * - 새 해시는 {algorithm}hash 형식으로 app.password-hash.algorithm(bcrypt, pbkdf2)을 사용한다.
+     * - 접두사가 없는 기존 해시는 BCrypt로 검증한다.
+     * - BCrypt strength는 시작 시 target-latency에 맞춰 측정한다. (bcrypt-strength를 지정하면 측정하지 않음)
+     * - PBKDF2는 반복 횟수가 해시에 저장되지 않으므로 측정하지 않고 설정값을 고정해서 사용한다.
+     * 로그인 성공 시 upgradeEncoding이 true인 해시(다른 알고리즘, 낮은 strength)는 다시 해시해서 저장한다.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.password-hash.algorithm:bcrypt}") String algorithm,
+                                           @Value("${app.password-hash.target-latency:50ms}") Duration targetLatency,
+                                           @Value("${app.password-hash.bcrypt-strength:0}") int bcryptStrength,
+                                           @Value("${app.password-hash.bcrypt-min-strength:10}") int bcryptMinStrength,
+                                           @Value("${app.password-hash.pbkdf2-iterations:310000}") int pbkdf2Iterations) {
+        int strength = bcryptStrength > 0 ? bcryptStrength : PasswordCostCalibrator.bcryptStrength(targetLatency, bcryptMinStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", new BCryptPasswordEncoder(strength),
+                "pbkdf2", new Pbkdf2PasswordEncoder("", 16, pbkdf2Iterations, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password hash algorithm: " + algorithm);
+        }
+        log.info("Password hash algorithm={}, bcryptStrength={}, pbkdf2Iterations={}", algorithm, strength, pbkdf2Iterations);
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return passwordEncoder;
     }
 }
@@ -0,0 +1,57 @@
+package study.alarmservice.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import study.alarmservice.session.OffHeapSessionFilter;
+import study.alarmservice.session.OffHeapSessionStore;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * app.session.store=offheap 이면 Tomcat 세션 대신 OffHeapSessionStore를 사용한다.
+ * (app.auth.mode=session 일 때만 의미가 있다.)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.session.store", havingValue = "offheap")
+public class SessionConfig {
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "offheap-session-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Bean
+    public OffHeapSessionStore offHeapSessionStore(@Value("${app.session.offheap.capacity:100000}") int capacity,
+                                                   @Value("${app.session.offheap.ttl:30m}") Duration ttl,
+                                                   @Value("${app.session.offheap.sweep-interval:1m}") Duration sweepInterval) {
+        OffHeapSessionStore store = new OffHeapSessionStore(capacity, ttl, Clock.systemUTC());
+        long interval = sweepInterval.toMillis();
+        sweeper.scheduleWithFixedDelay(store::evictExpired, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Off-heap session store capacity={}, slab={}KB, ttl={}", capacity, store.getSlabBytes() / 1024, ttl);
+        return store;
+    }
+
+    @Bean
+    public FilterRegistrationBean<OffHeapSessionFilter> offHeapSessionFilter(OffHeapSessionStore offHeapSessionStore) {
+        FilterRegistrationBean<OffHeapSessionFilter> registration = new FilterRegistrationBean<>(new OffHeapSessionFilter(offHeapSessionStore));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1000);
+        return registration;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdown();
+    }
+}
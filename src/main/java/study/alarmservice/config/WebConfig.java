@@ -1,15 +1,21 @@
 package study.alarmservice.config;
 
-import org.springframework.context.annotation.Bean;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 import study.alarmservice.interceptor.LoginCheckInterceptor;
+import study.alarmservice.logging.AsyncEventLogger;
+import study.alarmservice.service.LoginManager;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final LoginManager loginManager;
+    private final AsyncEventLogger eventLogger;
+
     /**
      * LocaleChangeInterceptor는 url 뒤에 특정 locale 파라미터를 넘겨서 변경한다.
      * 컨트롤러 호출 전에 살행되므로 스프링 인터셉터의 동작과 동일하다.
@@ -22,11 +28,11 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addInterceptor(localeChangeInterceptor)
                 .order(1);
 
-        registry.addInterceptor(new LoginCheckInterceptor())
+        registry.addInterceptor(new LoginCheckInterceptor(loginManager, eventLogger))
                 .order(2)
                 .addPathPatterns("/**")
                 .excludePathPatterns(
                         "/", "/api/v1/users", "/api/v1/users/**", "/api/v1/login", "/api/v1/logout",
-                        "/css/**", "/*.ico", "/error");
+                        "/css/**", "/*.ico", "/error", "/metrics");
     }
 }
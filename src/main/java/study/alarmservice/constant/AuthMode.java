@@ -0,0 +1,10 @@
+package study.alarmservice.constant;
+
+/**
+ * SESSION: 서버 세션에 로그인 사용자 저장 (기본값)
+ * TOKEN: 서명된 토큰을 발급하고 요청마다 서명만 검증 (서버 저장소 없음)
+ */
+public enum AuthMode {
+    SESSION,
+    TOKEN
+}
@@ -0,0 +1,11 @@
+package study.alarmservice.constant;
+
+/**
+ * 비동기 로그 버퍼가 가득 찼을 때
+ * DROP: 이벤트를 버리고 dropped 카운트만 올린다. (요청 지연 없음, 기본값)
+ * BLOCK: 버퍼에 빈 자리가 생길 때까지 호출한 스레드가 기다린다. (로그 유실 없음)
+ */
+public enum LogOverflowPolicy {
+    DROP,
+    BLOCK
+}
@@ -6,13 +6,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import study.alarmservice.cache.ErrorResponseCache;
 import study.alarmservice.dto.response.ErrorResponseDto;
 import study.alarmservice.dto.response.ValidationDto;
 import study.alarmservice.exception.CustomRuntimeException;
@@ -27,6 +28,7 @@ import static org.springframework.http.HttpStatus.*;
 public class ExceptionApiController {
 
     private final MessageSource messageSource;
+    private final ErrorResponseCache errorResponseCache;
 
     /**
      * @Valid 애너테이션으로 데이터를 검증하고,
@@ -62,16 +64,12 @@ public class ExceptionApiController {
      * 동적으로 statusCode를 처리하기 위해
      *
      * @ResponseStatus이 아닌 ResponseEntity를 반환한다.
+     * 본문은 ErrorResponseCache에 미리 직렬화된 ErrorResponseDto JSON을 그대로 쓴다.
      */
     @ExceptionHandler(CustomRuntimeException.class)
-    public ResponseEntity<ErrorResponseDto> customRuntimeException(CustomRuntimeException e) {
-        int statusCode = e.getStatusCode();
-
-        ErrorResponseDto responseDto = ErrorResponseDto.builder()
-                .code(statusCode)
-                .message(e.getMessage())
-                .build();
-
-        return new ResponseEntity<>(responseDto, HttpStatusCode.valueOf(statusCode));
+    public ResponseEntity<byte[]> customRuntimeException(CustomRuntimeException e) {
+        return ResponseEntity.status(e.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponseCache.get(e, LocaleContextHolder.getLocale()));
     }
 }
@@ -0,0 +1,61 @@
+package study.alarmservice.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.alarmservice.cache.RegisteredEmailFilter;
+import study.alarmservice.cache.UserResponseCache;
+import study.alarmservice.constant.SessionConst;
+import study.alarmservice.domain.LoginUser;
+import study.alarmservice.domain.Role;
+import study.alarmservice.dto.response.EmailFilterStatsDto;
+import study.alarmservice.dto.response.PasswordHashStatsDto;
+import study.alarmservice.dto.response.UserCacheStatsDto;
+import study.alarmservice.exception.ForbiddenException;
+import study.alarmservice.service.PasswordHasher;
+
+/**
+ * 운영 지표 조회 (로그인 필요)
+ */
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/metrics")
+@RestController
+public class MetricsApiController {
+
+    private final PasswordHasher passwordHasher;
+    private final UserResponseCache userResponseCache;
+    private final RegisteredEmailFilter registeredEmailFilter;
+
+    @GetMapping("/password-hash")
+    public PasswordHashStatsDto passwordHash() {
+        return passwordHasher.getStats();
+    }
+
+    @GetMapping("/user-cache")
+    public UserCacheStatsDto userCache() {
+        return userResponseCache.getStats();
+    }
+
+    @GetMapping("/email-filter")
+    public EmailFilterStatsDto emailFilter() {
+        return registeredEmailFilter.getStats();
+    }
+
+    /**
+     * 가입 이메일 필터를 백그라운드에서 다시 만든다. (이미 만드는 중이면 409)
+     * 전체 회원의 이메일을 읽으므로 어드민만 호출할 수 있다.
+     */
+    @PostMapping("/email-filter/rebuild")
+    public ResponseEntity<EmailFilterStatsDto> rebuildEmailFilter(@RequestAttribute(SessionConst.LOGIN_USER) LoginUser loginUser) {
+        if (loginUser.getRole() != Role.ADMIN) {
+            throw new ForbiddenException();
+        }
+        HttpStatus status = registeredEmailFilter.rebuildAsync() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(registeredEmailFilter.getStats());
+    }
+}
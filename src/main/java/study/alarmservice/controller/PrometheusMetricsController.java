@@ -0,0 +1,49 @@
+package study.alarmservice.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.alarmservice.metrics.MetricsRegistry;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Prometheus scrape 엔드포인트 (로그인 없이 같은 호스트에서만 접근 가능)
+ * 외부에서 호출하면 엔드포인트가 없는 것처럼 404를 반환한다.
+ */
+@RestController
+public class PrometheusMetricsController {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MetricsRegistry metricsRegistry;
+    private final boolean localOnly;
+
+    public PrometheusMetricsController(MetricsRegistry metricsRegistry,
+                                       @Value("${app.metrics.local-only:true}") boolean localOnly) {
+        this.metricsRegistry = metricsRegistry;
+        this.localOnly = localOnly;
+    }
+
+    @GetMapping(value = "/metrics", produces = CONTENT_TYPE)
+    public ResponseEntity<String> scrape(HttpServletRequest request) {
+        if (localOnly && !isLoopback(request.getRemoteAddr())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(metricsRegistry.scrape());
+    }
+
+    /**
+     * remoteAddr은 IP 문자열이므로 DNS 조회 없이 변환된다.
+     */
+    private boolean isLoopback(String remoteAddr) {
+        try {
+            return InetAddress.getByName(remoteAddr).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
@@ -1,50 +1,112 @@
 package study.alarmservice.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import study.alarmservice.cache.UserPageCache;
 import study.alarmservice.domain.User;
 import study.alarmservice.dto.request.LoginRequestDto;
 import study.alarmservice.dto.request.UserCreateRequestDto;
 import study.alarmservice.dto.request.UserSearchDto;
-import study.alarmservice.dto.response.UserPageResponseDto;
 import study.alarmservice.dto.response.UserResponseDto;
+import study.alarmservice.service.UserBulkJoinService;
+import study.alarmservice.service.UserExportService;
 import study.alarmservice.service.UserService;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
 @RequiredArgsConstructor
 @RequestMapping("/api/v1")
 @RestController
 public class UserApiController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final UserService userService;
+    private final UserBulkJoinService userBulkJoinService;
+    private final UserExportService userExportService;
+    private final UserPageCache userPageCache;
 
     @PostMapping("/users")
     public Long join(@Valid @RequestBody UserCreateRequestDto requestDto) {
         return userService.join(requestDto);
     }
 
+    /**
+     * 대량 회원가입
+     * NDJSON({"email": "...", "password": "..."}) 또는 CSV(email,password)를 받아서
+     * 처리된 순서대로 행별 결과를 NDJSON으로 스트리밍한다.
+     */
+    @PostMapping(value = "/imports/users", consumes = {APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE}, produces = APPLICATION_NDJSON_VALUE)
+    public void bulkJoin(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE));
+
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        userBulkJoinService.bulkJoin(request.getInputStream(), csv, response.getOutputStream());
+    }
+
+    /**
+     * 전체 회원 내보내기
+     * Accept가 text/csv면 CSV(userId,email), 아니면 NDJSON으로
+     * 페이지 조회(offset, count) 없이 한 번의 조회 결과를 읽는 대로 스트리밍한다.
+     */
+    @GetMapping(value = "/exports/users", produces = {APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public void export(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaType textCsv = MediaType.parseMediaType(TEXT_CSV_VALUE);
+        boolean csv = MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT)).stream()
+                .anyMatch(textCsv::equalsTypeAndSubtype);
+
+        response.setContentType(csv ? TEXT_CSV_VALUE : APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(csv ? "users.csv" : "users.ndjson")
+                .build()
+                .toString());
+        userExportService.export(response.getOutputStream(), csv);
+    }
+
     @GetMapping("/users/{userId}")
     public UserResponseDto findById(@PathVariable(name = "userId") Long userId) {
         return userService.findById(userId);
     }
 
+    /**
+     * 직렬화된 페이지를 캐시에서 그대로 내려준다.
+     * If-None-Match가 ETag와 같으면 조회와 직렬화 없이 304를 반환한다.
+     */
     @GetMapping("/users")
-    public UserPageResponseDto findAll(@ModelAttribute("userSearchDto") UserSearchDto userSearchDto) {
-        return userService.findAll(userSearchDto);
+    public ResponseEntity<byte[]> findAll(@ModelAttribute("userSearchDto") UserSearchDto userSearchDto, WebRequest webRequest) {
+        UserPageCache.CachedPage page = userPageCache.get(userSearchDto, () -> userService.findAll(userSearchDto));
+        if (webRequest.checkNotModified(page.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(page.getEtag())
+                .body(page.getBody());
     }
 
     @PostMapping("/login")
-    public UserResponseDto login(@Valid @RequestBody LoginRequestDto requestDto, HttpServletRequest request) {
-        return userService.login(requestDto, request);
+    public UserResponseDto login(@Valid @RequestBody LoginRequestDto requestDto, HttpServletRequest request, HttpServletResponse response) {
+        return userService.login(requestDto, request, response);
     }
 
     @PostMapping("/logout")
-    public void logout(HttpServletRequest request) {
-        userService.logout(request);
+    public void logout(HttpServletRequest request, HttpServletResponse response) {
+        userService.logout(request, response);
     }
 }
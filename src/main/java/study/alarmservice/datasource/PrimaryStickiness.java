@@ -0,0 +1,86 @@
+package study.alarmservice.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 쓰기 직후의 읽기는 primary에서 (read-your-writes)
+ * replica는 복제가 늦을 수 있어서 방금 가입한 회원을 바로 조회하면 없다고 나올 수 있다.
+ * 쓴 데이터의 key(회원 id, 이메일)를 sticky-window 동안 기억하고, 그 key를 읽는 동안은 읽기 전용 트랜잭션도 primary로 보낸다.
+ * 라우팅을 끄면(app.datasource.routing.enabled=false) 아무것도 기억하지 않는다.
+ * 한 노드 안에서만 보장한다. (다른 노드로 간 요청은 replica에서 읽을 수 있다.)
+ */
+@Component
+public class PrimaryStickiness {
+
+    /**
+     * 회원 리스트, 전체 회원 수 (가입마다 바뀌므로 가입 직후 캐시에 다시 적재할 때는 primary에서 읽는다.)
+     */
+    public static final Object USER_LIST = new Object();
+
+    private static final ThreadLocal<Boolean> FORCED = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final Cache<Object, Boolean> recentWrites;
+
+    public PrimaryStickiness(@Value("${app.datasource.routing.enabled:false}") boolean enabled,
+                             @Value("${app.datasource.routing.sticky-window:5s}") Duration window,
+                             @Value("${app.datasource.routing.sticky-max-size:100000}") long maxSize) {
+        this.enabled = enabled;
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void written(Object key) {
+        if (enabled) {
+            recentWrites.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * key를 방금 썼으면 reader 안의 읽기 전용 트랜잭션을 primary로 보낸다.
+     */
+    public <T> T read(Object key, Supplier<T> reader) {
+        if (!enabled || isForced() || recentWrites.getIfPresent(key) == null) {
+            return reader.get();
+        }
+        return onPrimary(reader);
+    }
+
+    /**
+     * reader 안의 읽기 전용 트랜잭션을 항상 primary로 보낸다. (복제 지연 때문에 빠진 데이터가 있으면 안 되는 읽기)
+     */
+    public <T> T onPrimary(Supplier<T> reader) {
+        if (!enabled || isForced()) {
+            return reader.get();
+        }
+
+        FORCED.set(Boolean.TRUE);
+        try {
+            return reader.get();
+        } finally {
+            FORCED.remove();
+        }
+    }
+
+    /**
+     * 다른 스레드에서 실행할 reader에 현재 스레드의 primary 강제 여부(ThreadLocal)를 넘긴다.
+     */
+    public <T> Supplier<T> propagate(Supplier<T> reader) {
+        if (!isForced()) {
+            return reader;
+        }
+        return () -> onPrimary(reader);
+    }
+
+    static boolean isForced() {
+        return FORCED.get() != null;
+    }
+}
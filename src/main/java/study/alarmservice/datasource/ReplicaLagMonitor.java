@@ -0,0 +1,119 @@
+package study.alarmservice.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.alarmservice.metrics.MetricsRegistry;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * replica 지연 측정 (heartbeat)
+ * check()마다 먼저 각 replica에 복제된 heartbeat를 읽어 직전 check()에서 쓴 값과의 차이를 지연으로 보고, 그다음 primary에 새 heartbeat를 쓴다.
+ * (새 값을 쓰자마자 읽으면 복제가 끝난 replica도 지연이 check-interval만큼으로 보인다.)
+ * 실제로 뒤처질 수 있는 시간은 지연 + check-interval 까지이므로 max-lag는 check-interval보다 길어야 한다.
+ * 조회에 실패했거나(복제 전, 장애) 지연이 max-lag를 넘은 replica는 다음 측정까지 읽기에서 뺀다.
+ * heartbeat는 커넥션 풀에 직접 쓰므로 SQL 지표(datasource-proxy)에는 잡히지 않는다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final long UNREACHABLE = -1;
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final long maxLagMillis;
+    private final Clock clock;
+    private final Map<String, Long> lagMillis = new ConcurrentHashMap<>();
+
+    private volatile List<String> healthyReplicas = List.of();
+    private long lastBeat;
+
+    /**
+     * @param replicas 이름 -> replica (라우팅 key로 쓴다.)
+     */
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, long maxLagMillis, MetricsRegistry metricsRegistry) {
+        this(primary, replicas, maxLagMillis, metricsRegistry, Clock.systemUTC());
+    }
+
+    ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, long maxLagMillis, MetricsRegistry metricsRegistry, Clock clock) {
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableMap(replicas);
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        this.maxLagMillis = maxLagMillis;
+        this.clock = clock;
+
+        metricsRegistry.gauge("alarm_datasource_replicas_healthy", "Replicas currently used for read-only transactions", () -> healthyReplicas.size());
+        metricsRegistry.gauge("alarm_datasource_replica_lag_ms", "Largest lag among reachable replicas (-1 if none is reachable)", this::maxLagMillis);
+
+        lastBeat = clock.millis();
+        primaryJdbcTemplate.execute("create table if not exists replica_heartbeat (id int primary key, beat_at bigint not null)");
+        if (primaryJdbcTemplate.update("update replica_heartbeat set beat_at = ? where id = 1", lastBeat) == 0) {
+            primaryJdbcTemplate.update("insert into replica_heartbeat (id, beat_at) values (1, ?)", lastBeat);
+        }
+    }
+
+    public synchronized void check() {
+        List<String> healthy = new ArrayList<>(replicas.size());
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            long lag = lag(replica.getValue(), lastBeat);
+            lagMillis.put(replica.getKey(), lag);
+            if (lag != UNREACHABLE && lag <= maxLagMillis) {
+                healthy.add(replica.getKey());
+            }
+        }
+
+        if (healthy.size() != healthyReplicas.size()) {
+            log.info("Healthy replicas {} -> {} (lag {})", healthyReplicas, healthy, lagMillis);
+        }
+        healthyReplicas = List.copyOf(healthy);
+
+        long beat = clock.millis();
+        try {
+            primaryJdbcTemplate.update("update replica_heartbeat set beat_at = ? where id = 1", beat);
+            lastBeat = beat;
+        } catch (DataAccessException e) {
+            log.warn("Replica heartbeat write failed, measuring against the previous heartbeat", e);
+        }
+    }
+
+    /**
+     * 읽기 전용 트랜잭션을 보낼 수 있는 replica 이름 (마지막 check() 기준)
+     */
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    private long lag(DataSource replica, long beat) {
+        try {
+            Long replicated = new JdbcTemplate(replica).queryForObject("select beat_at from replica_heartbeat where id = 1", Long.class);
+            return replicated == null ? UNREACHABLE : Math.max(0, beat - replicated);
+        } catch (DataAccessException e) {
+            log.debug("Replica heartbeat read failed", e);
+            return UNREACHABLE;
+        }
+    }
+
+    private long maxLagMillis() {
+        return lagMillis.values().stream()
+                .mapToLong(Long::longValue)
+                .filter(lag -> lag != UNREACHABLE)
+                .max()
+                .orElse(UNREACHABLE);
+    }
+}
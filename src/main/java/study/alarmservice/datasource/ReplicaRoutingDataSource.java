@@ -0,0 +1,64 @@
+package study.alarmservice.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.alarmservice.metrics.MetricsRegistry;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 읽기 전용 트랜잭션은 replica, 그 외(쓰기 트랜잭션, 트랜잭션 없이 실행한 JDBC)는 primary로 보낸다.
+ * 트랜잭션을 시작할 때는 readOnly 여부가 아직 동기화되지 않았으므로 LazyConnectionDataSourceProxy로 감싸서
+ * 첫 SQL을 실행할 때 커넥션을 고르도록 한다. (DataSourceRoutingConfig)
+ * replica는 지연이 max-lag 이하인 것만 돌아가며 쓰고(ReplicaLagMonitor), 없으면 primary에서 읽는다.
+ * 방금 쓴 데이터를 읽는 중이면(PrimaryStickiness) primary에서 읽는다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder stickyReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor replicaLagMonitor, MetricsRegistry metricsRegistry) {
+        this.replicaLagMonitor = replicaLagMonitor;
+
+        Map<Object, Object> targets = new HashMap<>(replicaLagMonitor.getReplicas());
+        targets.put(PRIMARY, replicaLagMonitor.getPrimary());
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(replicaLagMonitor.getPrimary());
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        metricsRegistry.counter("alarm_datasource_replica_reads_total", "Read-only connections taken from a replica", replicaReads::sum);
+        metricsRegistry.counter("alarm_datasource_sticky_reads_total", "Read-only connections kept on the primary to read a recent write", stickyReads::sum);
+        metricsRegistry.counter("alarm_datasource_fallback_reads_total", "Read-only connections sent to the primary because no replica was within max-lag", fallbackReads::sum);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        if (PrimaryStickiness.isForced()) {
+            stickyReads.increment();
+            return PRIMARY;
+        }
+
+        List<String> healthy = replicaLagMonitor.getHealthyReplicas();
+        if (healthy.isEmpty()) {
+            fallbackReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+    }
+}
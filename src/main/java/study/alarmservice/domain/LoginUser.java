@@ -0,0 +1,25 @@
+package study.alarmservice.domain;
+
+import lombok.Getter;
+
+import java.io.Serializable;
+
+/**
+ * 로그인 사용자 정보
+ * 세션이나 토큰에는 User 엔티티(비밀번호 해시 포함) 대신 id와 권한만 담는다.
+ */
+@Getter
+public class LoginUser implements Serializable {
+
+    private final Long userId;
+    private final Role role;
+
+    public LoginUser(Long userId, Role role) {
+        this.userId = userId;
+        this.role = role;
+    }
+
+    public static LoginUser of(User user) {
+        return new LoginUser(user.getId(), user.getRole());
+    }
+}
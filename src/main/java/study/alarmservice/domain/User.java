@@ -8,20 +8,48 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = User.EMAIL_UNIQUE_CONSTRAINT, columnNames = "normalized_email"),
+        indexes = @Index(name = "idx_user_email_hash", columnList = "email_hash"))
 public class User extends BaseEntity {
 
+    /**
+     * 가입 시 이메일 중복은 조회하지 않고 이 unique 제약 위반으로 판단한다.
+     */
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_user_normalized_email";
+
+    /**
+     * IDENTITY는 insert를 해야 id를 알 수 있어서 JDBC batch insert가 불가능하다.
+     * pooled 시퀀스로 allocationSize만큼 id를 미리 할당받아 batch insert가 가능하도록 한다.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq_generator")
+    @SequenceGenerator(name = "user_seq_generator", sequenceName = "user_seq", allocationSize = 50)
     @Column(name = "user_id")
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
+    /**
+     * 대소문자만 다른 이메일로 중복 가입하지 못하도록 정규화한 이메일 (로그인도 이 컬럼으로 찾는다.)
+     */
+    @Column(nullable = false)
+    private String normalizedEmail;
+
+    /**
+     * normalizedEmail의 64bit hash, 조회는 가변 길이 문자열 대신 고정 길이(8byte) 인덱스로 후보를 찾고 normalizedEmail로 확인한다.
+     * 컬럼 추가 전에 가입한 회원은 UserEmailHashBackfill이 채울 때까지 null이다.
+     */
+    private Long emailHash;
+
     @Column(nullable = false)
     private String password;
 
@@ -29,13 +57,47 @@ public class User extends BaseEntity {
     @Column(nullable = false)
     private Role role;
 
+    /**
+     * 로그인 때 바로 update 하지 않고 UserLoginTracker가 모아서 batch update 한다.
+     * 엔티티 변경 감지로 덮어쓰지 않도록 JPA로는 쓰지 않는다. (insertable, updatable = false)
+     */
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastLoginAt;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long loginCount;
+
     @Builder
     public User(String email, String password, Role role) {
         this.email = email;
+        this.normalizedEmail = normalizeEmail(email);
+        this.emailHash = normalizedEmail == null ? null : hashEmail(normalizedEmail);
         this.password = password;
         this.role = role;
     }
 
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 정규화한 이메일의 64bit hash (FNV-1a + murmur3 finalizer)
+     * DB에 저장되는 값이므로 바꾸면 전체 회원을 다시 backfill 해야 한다.
+     */
+    public static long hashEmail(String normalizedEmail) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalizedEmail.length(); i++) {
+            hash = (hash ^ normalizedEmail.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
     public void hashPassword(String password) {
         this.password = password;
     }
@@ -0,0 +1,72 @@
+package study.alarmservice.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 이메일 부분 일치 검색용 trigram 인덱스
+ * (gram, user_id)가 PK이므로 gram으로 후보 회원을 인덱스에서 바로 찾을 수 있다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "user_email_ngram", indexes = @Index(name = "idx_user_email_ngram_user", columnList = "user_id"))
+@Entity
+public class UserEmailNgram implements Persistable<UserEmailNgramId> {
+
+    public static final int GRAM_SIZE = 3;
+
+    @EmbeddedId
+    private UserEmailNgramId id;
+
+    /**
+     * id를 직접 할당하므로 save 시 merge(select)가 일어나지 않도록 새 엔티티임을 알려준다.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    public UserEmailNgram(String gram, Long userId) {
+        this.id = new UserEmailNgramId(gram, userId);
+    }
+
+    public static List<UserEmailNgram> of(User user) {
+        return gramsOf(user.getEmail()).stream()
+                .map(gram -> new UserEmailNgram(gram, user.getId()))
+                .toList();
+    }
+
+    /**
+     * 소문자로 변환한 문자열의 중복 없는 trigram 목록
+     * 길이가 GRAM_SIZE보다 짧으면 빈 집합을 반환한다.
+     */
+    public static Set<String> gramsOf(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (value == null) {
+            return grams;
+        }
+
+        String lower = value.toLowerCase(Locale.ROOT);
+        for (int i = 0; i + GRAM_SIZE <= lower.length(); i++) {
+            grams.add(lower.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,28 @@
+package study.alarmservice.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Embeddable
+public class UserEmailNgramId implements Serializable {
+
+    @Column(length = UserEmailNgram.GRAM_SIZE)
+    private String gram;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    public UserEmailNgramId(String gram, Long userId) {
+        this.gram = gram;
+        this.userId = userId;
+    }
+}
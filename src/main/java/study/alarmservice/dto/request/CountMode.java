@@ -0,0 +1,15 @@
+package study.alarmservice.dto.request;
+
+/**
+ * 회원 리스트 조회 시 전체 row 개수를 구하는 방식
+ * EXACT: 매 요청마다 count 쿼리 실행 (기본값)
+ * NONE: count 쿼리 없이 limit + 1 개를 조회해서 다음 페이지 존재 여부만 판단
+ * CACHED: 캐시된 전체 회원 수 사용 (회원가입 시 증가, 주기적으로 재계산)
+ * CONCURRENT: count 쿼리와 페이지 쿼리를 동시에 실행
+ */
+public enum CountMode {
+    EXACT,
+    NONE,
+    CACHED,
+    CONCURRENT
+}
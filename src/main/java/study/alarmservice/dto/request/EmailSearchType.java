@@ -0,0 +1,10 @@
+package study.alarmservice.dto.request;
+
+/**
+ * PREFIX: 이메일 앞부분 일치 검색 (이메일 unique 인덱스 사용, 기본값)
+ * CONTAINS: 이메일 부분 일치 검색 (trigram 인덱스 사용)
+ */
+public enum EmailSearchType {
+    PREFIX,
+    CONTAINS
+}
@@ -0,0 +1,32 @@
+package study.alarmservice.dto.request;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 커서 기반 페이징에서 사용하는 불투명(opaque) 커서
+ * 클라이언트는 커서의 내부 구조에 의존하지 않고 받은 값을 그대로 after/before로 넘긴다.
+ */
+public final class PagingCursor {
+
+    private static final String PREFIX = "u1:";
+
+    private PagingCursor() {
+    }
+
+    public static String encode(Long userId) {
+        byte[] bytes = (PREFIX + userId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public static Long decode(String cursor) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!decoded.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Unknown cursor format");
+        }
+        return Long.parseLong(decoded.substring(PREFIX.length()));
+    }
+}
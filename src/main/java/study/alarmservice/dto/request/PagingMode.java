@@ -0,0 +1,10 @@
+package study.alarmservice.dto.request;
+
+/**
+ * OFFSET: page/size 기반 페이징 (기본값)
+ * CURSOR: after/before 커서 기반 페이징 (seek 방식)
+ */
+public enum PagingMode {
+    OFFSET,
+    CURSOR
+}
@@ -11,6 +11,7 @@ import org.springframework.data.domain.PageRequest;
 public class PagingRequest {
 
     private int totalRowCount; // 총 row 개수
+    private boolean exactTotal; // totalRowCount가 정확한 값인지 (false면 추정치 또는 하한값)
     private int page; // 현재 페이지 번호
     private int size; // 한 페이지당 표시할 row 개수
     private int pageCount; // 한 번에 표시할 페이지 개수
@@ -21,14 +22,22 @@ public class PagingRequest {
     private int startPage; // 시작 페이지
     private int endPage; // 끝 페이지
 
+    private String prevCursor; // 커서 페이징: 이전 페이지 커서 (before로 전달)
+    private String nextCursor; // 커서 페이징: 다음 페이지 커서 (after로 전달)
+
     public PagingRequest(int page, int size) {
         this.page = page == 0 ? 1 : page;
         this.size = size == 0 ? 10 : size;
     }
 
     public PagingRequest(int page, int size, int totalRowCount, int pageCount) {
+        this(page, size, totalRowCount, pageCount, true);
+    }
+
+    public PagingRequest(int page, int size, int totalRowCount, int pageCount, boolean exactTotal) {
         this(page, size);
         this.totalRowCount = totalRowCount;
+        this.exactTotal = exactTotal;
         this.pageCount = pageCount == 0 ? 10 : pageCount;
         this.totalPageCount = ((totalRowCount - 1) / this.size) + 1;
         this.endPage = Math.min((((this.page - 1) / pageCount) + 1) * pageCount, totalPageCount);
@@ -47,6 +56,23 @@ public class PagingRequest {
         return new PagingRequest(page, size, totalRowCount, pageCount);
     }
 
+    public static PagingRequest of(int page, int size, int totalRowCount, int pageCount, boolean exactTotal) {
+        return new PagingRequest(page, size, totalRowCount, pageCount, exactTotal);
+    }
+
+    /**
+     * 커서 기반 페이징 결과
+     * 전체 row 개수를 세지 않으므로 totalRowCount, totalPageCount 등은 채우지 않는다.
+     */
+    public static PagingRequest ofCursor(int size, String prevCursor, String nextCursor) {
+        PagingRequest pagingRequest = new PagingRequest(1, size);
+        pagingRequest.prevCursor = prevCursor;
+        pagingRequest.nextCursor = nextCursor;
+        pagingRequest.prev = prevCursor != null;
+        pagingRequest.next = nextCursor != null;
+        return pagingRequest;
+    }
+
     /**
      * @ModelAttribute로 바인딩하기 위해
      * page와 size만 setter를 열어둔다.
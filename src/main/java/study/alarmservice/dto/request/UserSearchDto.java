@@ -11,10 +11,25 @@ import lombok.Setter;
 public class UserSearchDto extends PagingRequest {
 
     private String searchEmail;
+    private EmailSearchType searchType = EmailSearchType.PREFIX;
+
+    private CountMode countMode = CountMode.EXACT;
+
+    private PagingMode mode = PagingMode.OFFSET;
+    private String after; // 이 커서 이후(더 오래된) 회원을 조회
+    private String before; // 이 커서 이전(더 최신) 회원을 조회
 
     @Builder
     public UserSearchDto(int page, int size) {
         super(page, size);
     }
 
+    /**
+     * mode=CURSOR 이거나 after/before 커서를 넘긴 경우 커서 기반으로 조회한다.
+     * 첫 페이지는 mode=CURSOR만 넘기면 된다.
+     */
+    public boolean isCursorMode() {
+        return mode == PagingMode.CURSOR || after != null || before != null;
+    }
+
 }
@@ -0,0 +1,11 @@
+package study.alarmservice.dto.response;
+
+/**
+ * 대량 회원가입 행별 처리 결과
+ */
+public enum BulkJoinStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+}
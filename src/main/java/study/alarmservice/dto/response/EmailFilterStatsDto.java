@@ -0,0 +1,33 @@
+package study.alarmservice.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 가입 이메일 필터(로그인 negative cache) 상태
+ */
+@Getter
+public class EmailFilterStatsDto {
+
+    private boolean enabled;
+    private boolean ready;
+    private boolean building;
+    private long expectedInsertions;
+    private long memoryBytes;
+    private int hashCount;
+    private double falsePositiveRate;
+    private long rejectedCount;
+
+    @Builder
+    public EmailFilterStatsDto(boolean enabled, boolean ready, boolean building, long expectedInsertions, long memoryBytes,
+                               int hashCount, double falsePositiveRate, long rejectedCount) {
+        this.enabled = enabled;
+        this.ready = ready;
+        this.building = building;
+        this.expectedInsertions = expectedInsertions;
+        this.memoryBytes = memoryBytes;
+        this.hashCount = hashCount;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rejectedCount = rejectedCount;
+    }
+}
@@ -0,0 +1,38 @@
+package study.alarmservice.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 비밀번호 해시 스레드 풀 상태
+ */
+@Getter
+public class PasswordHashStatsDto {
+
+    private int poolSize;
+    private int activeThreads;
+    private int queueDepth;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+    private long timedOut;
+    private double avgHashMillis;
+    private double maxHashMillis;
+    private double avgQueueWaitMillis;
+
+    @Builder
+    public PasswordHashStatsDto(int poolSize, int activeThreads, int queueDepth, int queueCapacity,
+                                long completed, long rejected, long timedOut,
+                                double avgHashMillis, double maxHashMillis, double avgQueueWaitMillis) {
+        this.poolSize = poolSize;
+        this.activeThreads = activeThreads;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.timedOut = timedOut;
+        this.avgHashMillis = avgHashMillis;
+        this.maxHashMillis = maxHashMillis;
+        this.avgQueueWaitMillis = avgQueueWaitMillis;
+    }
+}
@@ -0,0 +1,28 @@
+package study.alarmservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 대량 회원가입 결과 (NDJSON 한 줄)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Getter
+public class UserBulkJoinResponseDto {
+
+    private int line;
+    private String email;
+    private BulkJoinStatus status;
+    private Long userId;
+    private String message;
+
+    @Builder
+    public UserBulkJoinResponseDto(int line, String email, BulkJoinStatus status, Long userId, String message) {
+        this.line = line;
+        this.email = email;
+        this.status = status;
+        this.userId = userId;
+        this.message = message;
+    }
+}
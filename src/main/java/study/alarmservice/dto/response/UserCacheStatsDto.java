@@ -0,0 +1,44 @@
+package study.alarmservice.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 회원 단건 조회 캐시 상태
+ */
+@Getter
+public class UserCacheStatsDto {
+
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private List<Entry> hotEntries;
+
+    @Builder
+    public UserCacheStatsDto(long size, long hitCount, long missCount, double hitRate, long evictionCount, List<Entry> hotEntries) {
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitRate;
+        this.evictionCount = evictionCount;
+        this.hotEntries = hotEntries;
+    }
+
+    @Getter
+    public static class Entry {
+
+        private Long userId;
+        private long hits;
+        private long ageSeconds;
+
+        public Entry(Long userId, long hits, long ageSeconds) {
+            this.userId = userId;
+            this.hits = hits;
+            this.ageSeconds = ageSeconds;
+        }
+    }
+}
@@ -7,8 +7,8 @@ import study.alarmservice.domain.User;
 @Getter
 public class UserResponseDto {
 
-    private Long userId;
-    private String email;
+    private final Long userId;
+    private final String email;
 
     @Builder
     public UserResponseDto(Long userId, String email) {
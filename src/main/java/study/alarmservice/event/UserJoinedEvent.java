@@ -0,0 +1,19 @@
+package study.alarmservice.event;
+
+import lombok.Getter;
+
+/**
+ * 회원가입 완료 이벤트
+ * 트랜잭션 커밋 이후 처리가 필요한 리스너는 @TransactionalEventListener로 구독한다.
+ */
+@Getter
+public class UserJoinedEvent {
+
+    private final Long userId;
+    private final String email;
+
+    public UserJoinedEvent(Long userId, String email) {
+        this.userId = userId;
+        this.email = email;
+    }
+}
@@ -0,0 +1,17 @@
+package study.alarmservice.event;
+
+import lombok.Getter;
+
+/**
+ * 회원 정보 변경 이벤트
+ * 회원 데이터를 바꾸는 작업은 이 이벤트를 발행해서 캐시를 무효화한다.
+ */
+@Getter
+public class UserUpdatedEvent {
+
+    private final Long userId;
+
+    public UserUpdatedEvent(Long userId) {
+        this.userId = userId;
+    }
+}
@@ -5,21 +5,44 @@ package study.alarmservice.exception;
  * 1. public abstract int statusCode();
  * -> status 코드에 대해 강제 구현
  * 2. 다른 곳에서 new로 객체 생성을 막는다.
+ *
+ * 응답 코드로 처리되는 예외라서 stack trace를 만들지 않는다. (writableStackTrace = false)
+ * 메시지 없이 생성하면 응답 메시지는 ErrorResponseCache가 messageKey와 locale로 찾는다.
  */
 public abstract class CustomRuntimeException extends RuntimeException {
 
     public CustomRuntimeException() {
-        super();
+        super(null, null, false, false);
     }
 
     public CustomRuntimeException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public CustomRuntimeException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 
     public abstract int getStatusCode();
 
+    /**
+     * errors.properties의 메시지 키
+     */
+    public abstract String getMessageKey();
+
+    /**
+     * 생성할 때 넘긴 메시지, 없으면 null
+     */
+    public String getResolvedMessage() {
+        return super.getMessage();
+    }
+
+    /**
+     * 메시지 없이 생성했으면 로그에서 알아볼 수 있도록 messageKey를 반환한다.
+     */
+    @Override
+    public String getMessage() {
+        String message = super.getMessage();
+        return message != null ? message : getMessageKey();
+    }
 }
@@ -5,6 +5,9 @@ package study.alarmservice.exception;
  */
 public class EmailDuplicateException extends CustomRuntimeException {
 
+    public EmailDuplicateException() {
+    }
+
     public EmailDuplicateException(String message) {
         super(message);
     }
@@ -13,4 +16,9 @@ public class EmailDuplicateException extends CustomRuntimeException {
     public int getStatusCode() {
         return 400;
     }
+
+    @Override
+    public String getMessageKey() {
+        return "email.duplicate";
+    }
 }
@@ -0,0 +1,25 @@
+package study.alarmservice.exception;
+
+/**
+ * 로그인은 했지만 권한이 없는 경우
+ * statusCode: 403 (Forbidden)
+ */
+public class ForbiddenException extends CustomRuntimeException {
+
+    public ForbiddenException() {
+    }
+
+    public ForbiddenException(String message) {
+        super(message);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 403;
+    }
+
+    @Override
+    public String getMessageKey() {
+        return "auth.forbidden";
+    }
+}
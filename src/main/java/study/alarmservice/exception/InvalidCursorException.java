@@ -0,0 +1,25 @@
+package study.alarmservice.exception;
+
+/**
+ * 커서 기반 페이징에서 해석할 수 없는 커서가 넘어온 경우
+ * statusCode: 400 (Bad Request)
+ */
+public class InvalidCursorException extends CustomRuntimeException {
+
+    public InvalidCursorException() {
+    }
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 400;
+    }
+
+    @Override
+    public String getMessageKey() {
+        return "paging.invalidCursor";
+    }
+}
@@ -5,6 +5,9 @@ package study.alarmservice.exception;
  */
 public class LoginFailException extends CustomRuntimeException {
 
+    public LoginFailException() {
+    }
+
     public LoginFailException(String message) {
         super(message);
     }
@@ -13,4 +16,9 @@ public class LoginFailException extends CustomRuntimeException {
     public int getStatusCode() {
         return 401;
     }
+
+    @Override
+    public String getMessageKey() {
+        return "login.fail";
+    }
 }
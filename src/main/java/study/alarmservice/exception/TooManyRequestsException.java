@@ -0,0 +1,25 @@
+package study.alarmservice.exception;
+
+/**
+ * 처리 가능한 양을 넘는 요청이 들어와서 즉시 거절하는 경우
+ * statusCode: 429 (Too Many Requests)
+ */
+public class TooManyRequestsException extends CustomRuntimeException {
+
+    public TooManyRequestsException() {
+    }
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 429;
+    }
+
+    @Override
+    public String getMessageKey() {
+        return "server.busy";
+    }
+}
@@ -9,6 +9,9 @@ import org.springframework.stereotype.Component;
  */
 public class UserNotFoundException extends CustomRuntimeException {
 
+    public UserNotFoundException() {
+    }
+
     public UserNotFoundException(String message) {
         super(message);
     }
@@ -17,4 +20,9 @@ public class UserNotFoundException extends CustomRuntimeException {
     public int getStatusCode() {
         return 404;
     }
+
+    @Override
+    public String getMessageKey() {
+        return "user.notFound";
+    }
 }
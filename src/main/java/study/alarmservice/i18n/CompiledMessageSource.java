@@ -0,0 +1,370 @@
+package study.alarmservice.i18n;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시작할 때 basename별 *.properties를 모두 읽어서 locale마다 code 순서의 배열로 펼쳐 둔 MessageSource
+ * basename 순서(messages -> errors)와 locale fallback(ko_KR -> ko -> 기본 파일)은 만들 때 한 번만 계산하고,
+ * 조회는 code의 index를 찾아서 locale 배열에서 꺼내기만 한다.
+ * 인자가 있는 메시지는 미리 만들어 둔 MessageFormat으로 만든다.
+ * ResourceBundleMessageSource와 달리 시스템 locale로 fallback 하지 않는다. (파일이 없는 locale은 기본 파일)
+ *
+ * reload()는 새 catalog를 다 만든 뒤 참조만 바꾸므로 조회 중인 스레드는 락 없이 이전 catalog를 끝까지 쓴다.
+ */
+@Slf4j
+public class CompiledMessageSource implements MessageSource, AutoCloseable {
+
+    private static final String SUFFIX = ".properties";
+    private static final int MAX_CACHED_LOCALES = 64;
+
+    private final List<String> basenames;
+    private final ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService reloader;
+    private volatile Catalog catalog;
+
+    /**
+     * @param basenames      "messages" 처럼 prefix가 없으면 classpath, "file:/conf/messages" 처럼 위치를 지정할 수도 있다.
+     * @param reloadInterval 0이면 reload 하지 않는다.
+     */
+    public CompiledMessageSource(List<String> basenames, Duration reloadInterval) {
+        this.basenames = List.copyOf(basenames);
+        this.catalog = load();
+
+        if (reloadInterval.isZero() || reloadInterval.isNegative()) {
+            this.reloader = null;
+        } else {
+            this.reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "message-reloader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = reloadInterval.toMillis();
+            reloader.scheduleWithFixedDelay(this::reloadQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        Locale target = locale != null ? locale : Locale.getDefault();
+        String message = resolve(code, args, target);
+        if (message != null) {
+            return message;
+        }
+        return render(defaultMessage, args, target);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        Locale target = locale != null ? locale : Locale.getDefault();
+        String message = resolve(code, args, target);
+        if (message == null) {
+            throw new NoSuchMessageException(code, target);
+        }
+        return message;
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        Locale target = locale != null ? locale : Locale.getDefault();
+        String[] codes = resolvable.getCodes();
+        if (codes != null) {
+            for (String code : codes) {
+                String message = resolve(code, resolvable.getArguments(), target);
+                if (message != null) {
+                    return message;
+                }
+            }
+        }
+        if (resolvable.getDefaultMessage() != null) {
+            return render(resolvable.getDefaultMessage(), resolvable.getArguments(), target);
+        }
+        throw new NoSuchMessageException(!ObjectUtils.isEmpty(codes) ? codes[codes.length - 1] : "", target);
+    }
+
+    /**
+     * 파일을 다시 읽어서 내용이 바뀐 경우에만 catalog를 교체한다.
+     *
+     * @return 교체했으면 true
+     */
+    public synchronized boolean reload() {
+        Catalog loaded = load();
+        if (loaded.sources.equals(catalog.sources)) {
+            return false;
+        }
+        catalog = loaded;
+        log.info("Reloaded messages: codes={}, locales={}", loaded.index.size(), loaded.byLocale.size());
+        reloadListeners.forEach(Runnable::run);
+        return true;
+    }
+
+    /**
+     * catalog가 교체된 뒤 실행할 작업 (메시지로 만든 캐시 비우기 등)
+     */
+    public void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Failed to reload messages, keeping the current ones", e);
+        }
+    }
+
+    private String resolve(String code, Object[] args, Locale locale) {
+        Catalog current = catalog;
+        Integer index = current.index.get(code);
+        if (index == null) {
+            return null;
+        }
+        Message message = current.messages(locale)[index];
+        if (message == null) {
+            return null;
+        }
+        if (ObjectUtils.isEmpty(args) || message.format == null) {
+            return message.text;
+        }
+        Object[] resolvedArgs = resolveArguments(args, locale);
+        // MessageFormat은 thread-safe하지 않다.
+        synchronized (message.format) {
+            return message.format.format(resolvedArgs);
+        }
+    }
+
+    private String render(String defaultMessage, Object[] args, Locale locale) {
+        if (defaultMessage == null || ObjectUtils.isEmpty(args)) {
+            return defaultMessage;
+        }
+        return new MessageFormat(defaultMessage, locale).format(resolveArguments(args, locale));
+    }
+
+    /**
+     * 인자 중 MessageSourceResolvable(검증 메시지의 필드 이름 등)은 메시지로 바꾼다.
+     */
+    private Object[] resolveArguments(Object[] args, Locale locale) {
+        Object[] resolved = args;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof MessageSourceResolvable resolvable) {
+                if (resolved == args) {
+                    resolved = args.clone();
+                }
+                resolved[i] = getMessage(resolvable, locale);
+            }
+        }
+        return resolved;
+    }
+
+    private Catalog load() {
+        List<Map<Locale, Map<String, String>>> sources = new ArrayList<>(basenames.size());
+        for (String basename : basenames) {
+            sources.add(loadBasename(basename));
+        }
+        return new Catalog(sources);
+    }
+
+    private Map<Locale, Map<String, String>> loadBasename(String basename) {
+        String location = basename.contains(":") ? basename : "classpath*:" + basename;
+        String single = location.startsWith("classpath*:") ? "classpath:" + location.substring("classpath*:".length()) : location;
+        String name = StringUtils.getFilename(single.substring(single.indexOf(':') + 1));
+
+        try {
+            List<Resource> resources = new ArrayList<>(List.of(resolver.getResources(location + "*" + SUFFIX)));
+            // jar 안에서는 classpath 최상위 wildcard가 파일을 찾지 못할 수 있어서 언어별 파일 이름으로도 찾는다.
+            resources.add(resolver.getResource(single + SUFFIX));
+            for (String language : Locale.getISOLanguages()) {
+                resources.add(resolver.getResource(single + "_" + language + SUFFIX));
+            }
+
+            Map<Locale, Map<String, String>> files = new HashMap<>();
+            for (Resource resource : resources) {
+                Locale locale = localeOf(name, resource.getFilename());
+                if (locale == null || !resource.exists()) {
+                    continue;
+                }
+                Map<String, String> messages = files.computeIfAbsent(locale, key -> new HashMap<>());
+                read(resource).forEach((key, value) -> messages.putIfAbsent((String) key, (String) value));
+            }
+            return files;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return messages.properties -> Locale.ROOT, messages_en.properties -> en, 다른 basename의 파일이면 null
+     */
+    private static Locale localeOf(String name, String filename) {
+        if (filename == null || !filename.endsWith(SUFFIX)) {
+            return null;
+        }
+        String stem = filename.substring(0, filename.length() - SUFFIX.length());
+        if (stem.equals(name)) {
+            return Locale.ROOT;
+        }
+        if (!stem.startsWith(name + "_")) {
+            return null;
+        }
+        return StringUtils.parseLocale(stem.substring(name.length() + 1));
+    }
+
+    private static Properties read(Resource resource) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+
+    private static final class Message {
+
+        private final String text;
+        private final MessageFormat format;
+
+        private Message(String text, Locale locale) {
+            this.text = text;
+            this.format = compile(text, locale);
+        }
+
+        private static MessageFormat compile(String text, Locale locale) {
+            try {
+                return new MessageFormat(text, locale);
+            } catch (IllegalArgumentException e) {
+                // MessageFormat 패턴이 아니면 인자가 있어도 그대로 반환
+                return null;
+            }
+        }
+    }
+
+    private static final class Catalog {
+
+        private final List<Map<Locale, Map<String, String>>> sources;
+        private final Map<String, Integer> index = new HashMap<>();
+        private final Map<Locale, Message[]> byLocale = new HashMap<>();
+        // 파일이 없는 locale(en_US 등)이 어느 배열을 쓰는지
+        private final Map<Locale, Message[]> fallbacks = new ConcurrentHashMap<>();
+
+        private Catalog(List<Map<Locale, Map<String, String>>> sources) {
+            this.sources = sources;
+
+            TreeSet<String> codes = new TreeSet<>();
+            TreeSet<Locale> locales = new TreeSet<>((a, b) -> a.toString().compareTo(b.toString()));
+            for (Map<Locale, Map<String, String>> files : sources) {
+                files.values().forEach(messages -> codes.addAll(messages.keySet()));
+                locales.addAll(files.keySet());
+            }
+            locales.add(Locale.ROOT);
+            for (String code : codes) {
+                index.put(code, index.size());
+            }
+            for (Locale locale : locales) {
+                byLocale.put(locale, compile(locale));
+            }
+        }
+
+        private Message[] messages(Locale locale) {
+            Message[] messages = byLocale.get(locale);
+            if (messages != null) {
+                return messages;
+            }
+            messages = fallbacks.get(locale);
+            if (messages != null) {
+                return messages;
+            }
+            messages = byLocale.get(Locale.ROOT);
+            for (Locale candidate : candidates(locale)) {
+                Message[] found = byLocale.get(candidate);
+                if (found != null) {
+                    messages = found;
+                    break;
+                }
+            }
+            // locale은 쿠키로 임의의 값이 들어올 수 있으므로 개수를 제한한다.
+            if (fallbacks.size() < MAX_CACHED_LOCALES) {
+                fallbacks.put(locale, messages);
+            }
+            return messages;
+        }
+
+        private Message[] compile(Locale locale) {
+            Message[] messages = new Message[index.size()];
+            List<Locale> chain = candidates(locale);
+            chain.add(Locale.ROOT);
+            for (Map.Entry<String, Integer> entry : index.entrySet()) {
+                String text = find(entry.getKey(), chain);
+                if (text != null) {
+                    messages[entry.getValue()] = new Message(text, locale);
+                }
+            }
+            return messages;
+        }
+
+        /**
+         * basename 순서대로, 각 basename 안에서는 구체적인 locale부터 찾는다. (ResourceBundleMessageSource와 같은 순서)
+         */
+        private String find(String code, List<Locale> chain) {
+            for (Map<Locale, Map<String, String>> files : sources) {
+                for (Locale candidate : chain) {
+                    Map<String, String> messages = files.get(candidate);
+                    if (messages != null && messages.containsKey(code)) {
+                        return messages.get(code);
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * ko_KR_variant -> [ko_KR_variant, ko_KR, ko] (Locale.ROOT 제외)
+         */
+        private static List<Locale> candidates(Locale locale) {
+            List<Locale> candidates = new ArrayList<>(3);
+            if (!locale.getVariant().isEmpty()) {
+                candidates.add(locale);
+            }
+            if (!locale.getCountry().isEmpty()) {
+                candidates.add(Locale.of(locale.getLanguage(), locale.getCountry()));
+            }
+            if (!locale.getLanguage().isEmpty()) {
+                candidates.add(Locale.of(locale.getLanguage()));
+            }
+            return candidates;
+        }
+    }
+}
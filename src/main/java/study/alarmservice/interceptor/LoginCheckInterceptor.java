@@ -2,22 +2,30 @@ package study.alarmservice.interceptor;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.servlet.HandlerInterceptor;
 import study.alarmservice.constant.SessionConst;
+import study.alarmservice.domain.LoginUser;
+import study.alarmservice.logging.AsyncEventLogger;
+import study.alarmservice.service.LoginManager;
 
 @Slf4j
+@RequiredArgsConstructor
 public class LoginCheckInterceptor implements HandlerInterceptor {
 
+    private final LoginManager loginManager;
+    private final AsyncEventLogger eventLogger;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        HttpSession session = request.getSession(false);
-        if (session == null || session.getAttribute(SessionConst.LOGIN_USER) == null) {
-            log.info("미인증 사용자");
+        LoginUser loginUser = loginManager.getLoginUser(request);
+        if (loginUser == null) {
+            eventLogger.info(log, "auth.unauthenticated", "uri", request.getRequestURI());
             return false;
         }
-        log.info("인증 사용자");
+        request.setAttribute(SessionConst.LOGIN_USER, loginUser);
+        eventLogger.info(log, "auth.authenticated", "userId", loginUser.getUserId(), "uri", request.getRequestURI());
         return true;
     }
 }
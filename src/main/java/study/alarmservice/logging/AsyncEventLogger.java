@@ -0,0 +1,292 @@
+package study.alarmservice.logging;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.alarmservice.constant.LogOverflowPolicy;
+import study.alarmservice.metrics.MetricsRegistry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 요청 경로용 구조화 로그 (이벤트 이름 + key=value 최대 2개)
+ * 호출한 스레드는 미리 만들어 둔 ring buffer 슬롯에 값만 복사하고, 문자열 조립과 appender 출력은 writer 스레드가 한다.
+ * 슬롯마다 sequence를 두는 bounded MPSC 큐(Vyukov)라서 락 없이 여러 스레드가 동시에 기록한다.
+ * long 값은 박싱하지 않고 그대로 저장한다.
+ * 로그 시각(%d)은 writer가 출력한 시각이므로 실제 발생 시각보다 조금 늦을 수 있다.
+ * 버퍼가 비면 writer는 park 하고, 기록한 스레드가 writer가 자고 있을 때만 unpark 한다.
+ * app.logging.async.enabled=false 이면 호출한 스레드에서 바로 출력한다.
+ */
+@Component
+public class AsyncEventLogger {
+
+    private static final Object LONG_VALUE = new Object();
+
+    private final boolean async;
+    private final LogOverflowPolicy overflowPolicy;
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    // drainLock을 잡은 스레드(평소에는 writer)만 변경한다.
+    private long dequeuePosition;
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+
+    public AsyncEventLogger(MetricsRegistry metricsRegistry,
+                            @Value("${app.logging.async.enabled:true}") boolean async,
+                            @Value("${app.logging.async.capacity:8192}") int capacity,
+                            @Value("${app.logging.async.overflow:drop}") LogOverflowPolicy overflowPolicy) {
+        this.async = async;
+        this.overflowPolicy = overflowPolicy;
+
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot(i);
+        }
+        this.mask = size - 1;
+
+        metricsRegistry.counter("alarm_log_events_written_total", "Events written by the async log writer", written::get);
+        metricsRegistry.counter("alarm_log_events_dropped_total", "Events dropped because the log buffer was full", dropped::sum);
+        metricsRegistry.counter("alarm_log_events_blocked_total", "Events that waited for a free slot in the log buffer", blocked::sum);
+        metricsRegistry.gauge("alarm_log_buffer_depth", "Events waiting in the log buffer", this::depth);
+
+        this.writer = new Thread(this::drainLoop, "async-event-logger");
+        this.writer.setDaemon(true);
+        if (async) {
+            this.writer.start();
+        }
+    }
+
+    public void info(Logger logger, String event) {
+        log(logger, Level.INFO, event, null, null, 0, null, null, 0);
+    }
+
+    public void info(Logger logger, String event, String key, Object value) {
+        log(logger, Level.INFO, event, key, value, 0, null, null, 0);
+    }
+
+    public void info(Logger logger, String event, String key, long value) {
+        log(logger, Level.INFO, event, key, LONG_VALUE, value, null, null, 0);
+    }
+
+    public void info(Logger logger, String event, String key1, long value1, String key2, Object value2) {
+        log(logger, Level.INFO, event, key1, LONG_VALUE, value1, key2, value2, 0);
+    }
+
+    public void warn(Logger logger, String event, String key1, Object value1, String key2, Object value2) {
+        log(logger, Level.WARN, event, key1, value1, 0, key2, value2, 0);
+    }
+
+    private void log(Logger logger, Level level, String event,
+                     String key1, Object value1, long longValue1,
+                     String key2, Object value2, long longValue2) {
+        if (!logger.isEnabledForLevel(level)) {
+            return;
+        }
+        String threadName = Thread.currentThread().getName();
+        if (!async || !running) {
+            write(logger, level, new StringBuilder(), event, key1, value1, longValue1, key2, value2, longValue2, threadName);
+            return;
+        }
+
+        long position = claim();
+        if (position < 0) {
+            dropped.increment();
+            return;
+        }
+        Slot slot = slots[(int) (position & mask)];
+        slot.logger = logger;
+        slot.level = level;
+        slot.event = event;
+        slot.key1 = key1;
+        slot.value1 = value1;
+        slot.longValue1 = longValue1;
+        slot.key2 = key2;
+        slot.value2 = value2;
+        slot.longValue2 = longValue2;
+        slot.threadName = threadName;
+        slot.sequence = position + 1;
+
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+        // 종료 중인 걸 모르고 슬롯을 잡았으면 writer의 마지막 drain 이후일 수 있으므로 직접 출력한다.
+        if (!running) {
+            drainLocked();
+        }
+    }
+
+    /**
+     * @return 기록할 슬롯의 위치, 버퍼가 가득 찼고 DROP 정책이면 -1
+     */
+    private long claim() {
+        boolean waited = false;
+        while (true) {
+            long position = enqueuePosition.get();
+            Slot slot = slots[(int) (position & mask)];
+            long difference = slot.sequence - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (difference < 0) {
+                // writer가 아직 이 슬롯을 비우지 않았다. (버퍼 가득 참)
+                if (overflowPolicy == LogOverflowPolicy.DROP || !running) {
+                    return -1;
+                }
+                if (!waited) {
+                    blocked.increment();
+                    waited = true;
+                }
+                LockSupport.parkNanos(10_000);
+            }
+        }
+    }
+
+    private void drainLoop() {
+        StringBuilder buffer = new StringBuilder(256);
+        while (running) {
+            if (drainLocked(buffer)) {
+                continue;
+            }
+            // park 하겠다고 알린 뒤 한 번 더 확인한다. (그 사이 기록한 스레드는 writerParked를 보고 unpark 한다.)
+            writerParked = true;
+            if (running && !drainLocked(buffer)) {
+                LockSupport.park(this);
+            }
+            writerParked = false;
+        }
+        drainLocked(buffer);
+    }
+
+    private void drainLocked() {
+        drainLocked(new StringBuilder(256));
+    }
+
+    private boolean drainLocked(StringBuilder buffer) {
+        drainLock.lock();
+        try {
+            return drain(buffer);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * @return 출력한 이벤트가 있으면 true
+     */
+    private boolean drain(StringBuilder buffer) {
+        boolean drained = false;
+        while (true) {
+            Slot slot = slots[(int) (dequeuePosition & mask)];
+            if (slot.sequence != dequeuePosition + 1) {
+                return drained;
+            }
+            write(slot.logger, slot.level, buffer, slot.event, slot.key1, slot.value1, slot.longValue1,
+                    slot.key2, slot.value2, slot.longValue2, slot.threadName);
+            slot.clear();
+            slot.sequence = dequeuePosition + slots.length;
+            dequeuePosition++;
+            written.lazySet(dequeuePosition);
+            drained = true;
+        }
+    }
+
+    private static void write(Logger logger, Level level, StringBuilder buffer, String event,
+                              String key1, Object value1, long longValue1,
+                              String key2, Object value2, long longValue2, String threadName) {
+        buffer.setLength(0);
+        buffer.append(event);
+        appendField(buffer, key1, value1, longValue1);
+        appendField(buffer, key2, value2, longValue2);
+        buffer.append(" thread=").append(threadName);
+
+        String message = buffer.toString();
+        switch (level) {
+            case WARN -> logger.warn(message);
+            case ERROR -> logger.error(message);
+            case DEBUG -> logger.debug(message);
+            case TRACE -> logger.trace(message);
+            default -> logger.info(message);
+        }
+    }
+
+    private static void appendField(StringBuilder buffer, String key, Object value, long longValue) {
+        if (key == null) {
+            return;
+        }
+        buffer.append(' ').append(key).append('=');
+        if (value == LONG_VALUE) {
+            buffer.append(longValue);
+        } else {
+            buffer.append(value);
+        }
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    boolean isWriterParked() {
+        return writerParked;
+    }
+
+    private long depth() {
+        return Math.max(0, enqueuePosition.get() - written.get());
+    }
+
+    /**
+     * 남은 이벤트를 모두 출력하고 writer를 멈춘다. 이후 로그는 호출한 스레드에서 바로 출력한다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer.isAlive()) {
+            LockSupport.unpark(writer);
+            writer.join(5_000);
+        }
+        drainLocked();
+    }
+
+    private static final class Slot {
+
+        volatile long sequence;
+        Logger logger;
+        Level level;
+        String event;
+        String key1;
+        Object value1;
+        long longValue1;
+        String key2;
+        Object value2;
+        long longValue2;
+        String threadName;
+
+        private Slot(long sequence) {
+            this.sequence = sequence;
+        }
+
+        private void clear() {
+            logger = null;
+            value1 = null;
+            value2 = null;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package study.alarmservice.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * 지연 시간 히스토그램, SQL 카운터, 컴포넌트가 등록한 counter/gauge 모음
+ * 히스토그램과 카운터는 처음 한 번만 만들고, 이후에는 Method/Class 키로 찾기만 하므로 기록 경로에서 객체를 만들지 않는다.
+ * Prometheus text format(0.0.4)으로 내보낸다.
+ */
+@Component
+public class MetricsRegistry {
+
+    /**
+     * Prometheus histogram의 le 경계 (초)
+     */
+    private static final double[] BUCKET_BOUNDS_SECONDS = {
+            0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private final Family<LatencyHistogram> handlers = new Family<>("alarm_http_server_requests_seconds",
+            "Request latency per handler method", "handler", LatencyHistogram::new);
+    private final Family<LatencyHistogram> exceptions = new Family<>("alarm_http_server_exceptions_seconds",
+            "Latency of requests that ended with the exception", "exception", LatencyHistogram::new);
+    private final Family<LatencyHistogram> repositories = new Family<>("alarm_repository_seconds",
+            "Repository method latency", "method", LatencyHistogram::new);
+    private final Family<SqlCounters> sql = new Family<>("alarm_http_server_sql",
+            "SQL statements executed on the request thread per handler method", "handler", SqlCounters::new);
+    // 이름 -> (type, help, 값)
+    private final ConcurrentMap<String, Sampled> sampled = new ConcurrentSkipListMap<>();
+
+    public LatencyHistogram handler(Method method) {
+        LatencyHistogram histogram = handlers.byKey.get(method);
+        return histogram != null ? histogram
+                : handlers.register(method, method.getDeclaringClass().getSimpleName() + "." + method.getName());
+    }
+
+    public LatencyHistogram exception(Class<? extends Throwable> type) {
+        LatencyHistogram histogram = exceptions.byKey.get(type);
+        return histogram != null ? histogram : exceptions.register(type, type.getSimpleName());
+    }
+
+    /**
+     * @param repositoryInterface 프록시에서 호출된 메서드는 선언된 fragment 인터페이스가 다를 수 있어서 따로 받는다.
+     */
+    public LatencyHistogram repository(Class<?> repositoryInterface, Method method) {
+        LatencyHistogram histogram = repositories.byKey.get(method);
+        return histogram != null ? histogram
+                : repositories.register(method, repositoryInterface.getSimpleName() + "." + method.getName());
+    }
+
+    public SqlCounters sql(Method handlerMethod) {
+        SqlCounters counters = sql.byKey.get(handlerMethod);
+        return counters != null ? counters
+                : sql.register(handlerMethod, handlerMethod.getDeclaringClass().getSimpleName() + "." + handlerMethod.getName());
+    }
+
+    /**
+     * 컴포넌트가 직접 누적하는 값(LongAdder 등)을 scrape 시점에 읽는다.
+     */
+    public void counter(String name, String help, LongSupplier value) {
+        sampled.put(name, new Sampled("counter", help, value));
+    }
+
+    public void gauge(String name, String help, LongSupplier value) {
+        sampled.put(name, new Sampled("gauge", help, value));
+    }
+
+    /**
+     * 비율처럼 소수인 gauge
+     */
+    public void gauge(String name, String help, DoubleSupplier value) {
+        sampled.put(name, new Sampled("gauge", help, value));
+    }
+
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        writeHistograms(handlers, out);
+        writeHistograms(exceptions, out);
+        writeHistograms(repositories, out);
+        writeCounters(sql, "_statements_total", "statements", SqlCounters::getStatements, 1, out);
+        writeCounters(sql, "_rows_total", "rows written (and read if app.sql.count-rows=true)", SqlCounters::getRows, 1, out);
+        writeCounters(sql, "_seconds_total", "DB time", SqlCounters::getNanos, 1e9, out);
+        writeCounters(sql, "_n_plus_one_total", "requests with a repeated select (N+1 suspected)", SqlCounters::getNPlusOneSuspected, 1, out);
+        for (Map.Entry<String, Sampled> entry : sampled.entrySet()) {
+            Sampled metric = entry.getValue();
+            out.append("# HELP ").append(entry.getKey()).append(' ').append(metric.help).append('\n');
+            out.append("# TYPE ").append(entry.getKey()).append(' ').append(metric.type).append('\n');
+            out.append(entry.getKey()).append(' ');
+            if (metric.value instanceof LongSupplier value) {
+                out.append(value.getAsLong());
+            } else {
+                out.append(((DoubleSupplier) metric.value).getAsDouble());
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * @param value LongSupplier 또는 DoubleSupplier
+     */
+    private record Sampled(String type, String help, Object value) {
+    }
+
+    private static class Family<T> {
+
+        private final String name;
+        private final String help;
+        private final String labelName;
+        private final Supplier<T> factory;
+        private final ConcurrentMap<Object, T> byKey = new ConcurrentHashMap<>();
+        // 오버로딩된 메서드는 라벨이 같으므로 함께 쓴다.
+        private final ConcurrentMap<String, T> byLabel = new ConcurrentSkipListMap<>();
+
+        private Family(String name, String help, String labelName, Supplier<T> factory) {
+            this.name = name;
+            this.help = help;
+            this.labelName = labelName;
+            this.factory = factory;
+        }
+
+        private T register(Object key, String label) {
+            T metric = byLabel.computeIfAbsent(label, l -> factory.get());
+            T previous = byKey.putIfAbsent(key, metric);
+            return previous != null ? previous : metric;
+        }
+
+        private String label(String value) {
+            return labelName + "=\"" + escape(value) + "\"";
+        }
+    }
+
+    private static void writeHistograms(Family<LatencyHistogram> family, StringBuilder out) {
+        if (family.byLabel.isEmpty()) {
+            return;
+        }
+        String name = family.name;
+        out.append("# HELP ").append(name).append(' ').append(family.help).append('\n');
+        out.append("# TYPE ").append(name).append(" histogram\n");
+        for (Map.Entry<String, LatencyHistogram> entry : family.byLabel.entrySet()) {
+            String label = family.label(entry.getKey());
+            LatencyHistogram.Snapshot snapshot = entry.getValue().snapshot();
+            for (double bound : BUCKET_BOUNDS_SECONDS) {
+                long count = snapshot.countAtOrBelow((long) (bound * 1e9));
+                out.append(name).append("_bucket{").append(label).append(",le=\"").append(bound).append("\"} ").append(count).append('\n');
+            }
+            out.append(name).append("_bucket{").append(label).append(",le=\"+Inf\"} ").append(snapshot.getCount()).append('\n');
+            out.append(name).append("_sum{").append(label).append("} ").append(snapshot.getTotalNanos() / 1e9).append('\n');
+            out.append(name).append("_count{").append(label).append("} ").append(snapshot.getCount()).append('\n');
+        }
+    }
+
+    private static void writeCounters(Family<SqlCounters> family, String suffix, String help,
+                                      ToLongFunction<SqlCounters> value, double divisor, StringBuilder out) {
+        if (family.byLabel.isEmpty()) {
+            return;
+        }
+        String name = family.name + suffix;
+        out.append("# HELP ").append(name).append(' ').append(family.help).append(", ").append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        for (Map.Entry<String, SqlCounters> entry : family.byLabel.entrySet()) {
+            long count = value.applyAsLong(entry.getValue());
+            out.append(name).append('{').append(family.label(entry.getKey())).append("} ");
+            if (divisor == 1) {
+                out.append(count);
+            } else {
+                out.append(count / divisor);
+            }
+            out.append('\n');
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
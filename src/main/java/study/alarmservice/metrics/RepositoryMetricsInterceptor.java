@@ -0,0 +1,29 @@
+package study.alarmservice.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Spring Data 리포지토리 프록시에 추가되어 메서드별 실행 시간을 기록한다.
+ * (쿼리 메서드, QueryDSL fragment 메서드 모두 포함)
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final MetricsRegistry metricsRegistry;
+    private final Class<?> repositoryInterface;
+
+    public RepositoryMetricsInterceptor(MetricsRegistry metricsRegistry, Class<?> repositoryInterface) {
+        this.metricsRegistry = metricsRegistry;
+        this.repositoryInterface = repositoryInterface;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long startedAt = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            metricsRegistry.repository(repositoryInterface, invocation.getMethod()).record(System.nanoTime() - startedAt);
+        }
+    }
+}
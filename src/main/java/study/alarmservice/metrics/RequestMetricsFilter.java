@@ -0,0 +1,77 @@
+package study.alarmservice.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 요청 처리 시간을 핸들러 메서드별로, 예외로 끝난 요청은 예외 타입별로도 기록한다.
+ * 핸들러는 DispatcherServlet이 남긴 request attribute로 찾으므로 핸들러가 없는 요청(정적 리소스, 404)은 기록하지 않는다.
+ * 요청 스레드에서 실행된 SQL(SqlRequestStats)도 핸들러별로 합산하고, 같은 select가 반복되면 N+1로 의심한다.
+ */
+@Slf4j
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MetricsRegistry metricsRegistry;
+    private final int nPlusOneThreshold;
+    private final boolean failOnNPlusOne;
+
+    /**
+     * @param nPlusOneThreshold 한 요청에서 같은 select가 이 횟수 이상 실행되면 N+1로 의심한다.
+     * @param failOnNPlusOne true면 N+1이 의심되는 요청을 예외로 끝낸다. (테스트용)
+     */
+    public RequestMetricsFilter(MetricsRegistry metricsRegistry, int nPlusOneThreshold, boolean failOnNPlusOne) {
+        this.metricsRegistry = metricsRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.failOnNPlusOne = failOnNPlusOne;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long startedAt = System.nanoTime();
+        SqlRequestStats sqlStats = SqlRequestStats.begin();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            failure = e instanceof ServletException && e.getCause() != null ? e.getCause() : e;
+            throw e;
+        } finally {
+            SqlRequestStats.end();
+            record(request, System.nanoTime() - startedAt, failure, sqlStats);
+        }
+    }
+
+    private void record(HttpServletRequest request, long elapsedNanos, Throwable failure, SqlRequestStats sqlStats) {
+        // @ExceptionHandler로 처리된 예외는 DispatcherServlet이 request attribute로 남긴다.
+        Throwable exception = failure != null ? failure : (Throwable) request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE);
+        if (exception != null) {
+            metricsRegistry.exception(exception.getClass()).record(elapsedNanos);
+        }
+
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        metricsRegistry.handler(handlerMethod.getMethod()).record(elapsedNanos);
+
+        SqlCounters sqlCounters = metricsRegistry.sql(handlerMethod.getMethod());
+        sqlCounters.record(sqlStats);
+        String repeatedSelect = sqlStats.getRepeatedSelect(nPlusOneThreshold);
+        if (repeatedSelect != null) {
+            sqlCounters.nPlusOneSuspected();
+            log.warn("N+1 suspected handler={} repeated={} sql={}", handlerMethod.getShortLogMessage(), sqlStats.getRepeatedCount(), repeatedSelect);
+            if (failOnNPlusOne && failure == null) {
+                throw new IllegalStateException("N+1 suspected in " + handlerMethod.getShortLogMessage() + ": "
+                        + sqlStats.getRepeatedCount() + " x " + repeatedSelect);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package study.alarmservice.metrics;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.ResultSet;
+
+/**
+ * select 결과 row 수를 ResultSet.next()가 true를 반환한 횟수로 센다. (app.sql.count-rows=true 인 경우만)
+ * datasource-proxy의 기본 ResultSet 프록시는 모든 메서드 호출마다 MethodExecutionContext를 만들어 리스너를 호출하므로,
+ * next()만 확인하고 나머지는 그대로 위임한다.
+ */
+public class ResultSetRowCounter implements ResultSetProxyLogicFactory {
+
+    @Override
+    public ResultSetProxyLogic create(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        return (proxy, method, args) -> {
+            String name = method.getName();
+            if ("getTarget".equals(name)) {
+                return resultSet; // ProxyJdbcObject
+            }
+
+            Object result;
+            try {
+                result = method.invoke(resultSet, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if ("next".equals(name) && Boolean.TRUE.equals(result)) {
+                SqlRequestStats stats = SqlRequestStats.current();
+                if (stats != null) {
+                    stats.addRow();
+                }
+            }
+            return result;
+        };
+    }
+}
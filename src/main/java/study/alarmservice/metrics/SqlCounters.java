@@ -0,0 +1,41 @@
+package study.alarmservice.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 핸들러 메서드별 SQL 누적 수치
+ * 요청 수(LatencyHistogram count)와 나누면 요청당 평균 문장 수, row 수, DB 시간이 된다.
+ */
+public class SqlCounters {
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder nPlusOneSuspected = new LongAdder();
+
+    public void record(SqlRequestStats stats) {
+        statements.add(stats.getStatements());
+        rows.add(stats.getRows());
+        nanos.add(stats.getNanos());
+    }
+
+    public void nPlusOneSuspected() {
+        nPlusOneSuspected.increment();
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getNanos() {
+        return nanos.sum();
+    }
+
+    public long getNPlusOneSuspected() {
+        return nPlusOneSuspected.sum();
+    }
+}
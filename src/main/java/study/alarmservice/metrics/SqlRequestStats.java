@@ -0,0 +1,78 @@
+package study.alarmservice.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 요청 하나에서 실행된 SQL 문 수, row 수, DB 시간
+ * 요청 스레드의 ThreadLocal에 두므로 다른 스레드에서 실행된 쿼리(CountMode.CONCURRENT의 count 쿼리 등)는 포함하지 않는다.
+ */
+public class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long nanos;
+    // 같은 select가 반복되면 N+1로 의심한다.
+    private final Map<String, Integer> selectCounts = new HashMap<>();
+    private String repeatedSelect;
+    private int repeatedCount;
+
+    public static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return 요청 범위 밖(스케줄러, 비동기 스레드)이면 null
+     */
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void addStatement(String sql, boolean select, long elapsedNanos, long affectedRows) {
+        statements++;
+        nanos += elapsedNanos;
+        rows += affectedRows;
+        if (select) {
+            int count = selectCounts.merge(sql, 1, Integer::sum);
+            if (count > repeatedCount) {
+                repeatedSelect = sql;
+                repeatedCount = count;
+            }
+        }
+    }
+
+    void addRow() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return 가장 많이 반복된 select가 threshold번 이상 실행되었으면 그 SQL, 아니면 null
+     */
+    public String getRepeatedSelect(int threshold) {
+        return repeatedCount >= threshold ? repeatedSelect : null;
+    }
+
+    public int getRepeatedCount() {
+        return repeatedCount;
+    }
+}
@@ -0,0 +1,96 @@
+package study.alarmservice.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * DataSource 프록시(datasource-proxy)에서 호출되어 SQL 문 수, row 수, DB 시간을 요청별로 모으고
+ * threshold보다 오래 걸린 문장만 slow query 로그로 남긴다. (바인딩 파라미터는 타입만 출력)
+ * 모든 SQL을 출력하던 org.hibernate.SQL debug 로그를 대신한다.
+ */
+@Slf4j
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final String STARTED_AT = "startedAt";
+
+    private final long slowThresholdNanos;
+
+    public SqlStatementListener(long slowThresholdNanos) {
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedNanos = System.nanoTime() - execInfo.getCustomValue(STARTED_AT, Long.class);
+
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            // Statement batch는 문장 여러 개를 한 번에 실행하므로 시간과 row 수는 첫 문장에만 더한다.
+            long rows = affectedRows(execInfo.getResult());
+            boolean first = true;
+            for (QueryInfo queryInfo : queryInfoList) {
+                String sql = queryInfo.getQuery();
+                stats.addStatement(sql, isSelect(sql), first ? elapsedNanos : 0, first ? rows : 0);
+                first = false;
+            }
+        }
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            logSlowQuery(execInfo, queryInfoList, elapsedNanos);
+        }
+    }
+
+    private void logSlowQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList, long elapsedNanos) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            log.warn("Slow query {}ms batch={} sql={} params={}", elapsedNanos / 1_000_000,
+                    execInfo.isBatch() ? execInfo.getBatchSize() : 0, queryInfo.getQuery(),
+                    parametersList.isEmpty() ? "[]" : maskParameters(parametersList.get(0)));
+        }
+    }
+
+    /**
+     * 값 대신 타입만 남긴다. (이메일, 비밀번호 해시 등이 로그에 남지 않도록)
+     */
+    static String maskParameters(List<ParameterSetOperation> parameters) {
+        StringJoiner masked = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation parameter : parameters) {
+            Object[] args = parameter.getArgs();
+            Object value = args.length > 1 ? args[1] : null;
+            masked.add(value == null || ParameterSetOperation.isSetNullParameterOperation(parameter) ? "null" : value.getClass().getSimpleName());
+        }
+        return masked.toString();
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.regionMatches(true, 0, "select", 0, 6) || sql.regionMatches(true, 0, "with", 0, 4);
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Number count) {
+            return Math.max(count.longValue(), 0);
+        }
+        long rows = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += Math.max(count, 0);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,58 @@
+package study.alarmservice.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.alarmservice.exception.TooManyRequestsException;
+import study.alarmservice.metrics.MetricsRegistry;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * 로그인 시도 제한 (client IP별, 이메일별)
+ * 회원 조회와 비밀번호 검증(BCrypt) 전에 확인해서 credential stuffing 요청이 DB와 해시 스레드를 쓰지 않도록 한다.
+ * IP 제한에 걸린 요청은 이메일 한도를 쓰지 않는다.
+ * client IP는 request.getRemoteAddr()이므로 프록시 뒤에서는 server.forward-headers-strategy를 설정해야 한다.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final RateLimiter byIp;
+    private final RateLimiter byEmail;
+
+    public LoginRateLimiter(MetricsRegistry metricsRegistry,
+                            @Value("${app.login-rate-limit.enabled:true}") boolean enabled,
+                            @Value("${app.login-rate-limit.ip.limit:20}") int ipLimit,
+                            @Value("${app.login-rate-limit.ip.period:1m}") Duration ipPeriod,
+                            @Value("${app.login-rate-limit.email.limit:5}") int emailLimit,
+                            @Value("${app.login-rate-limit.email.period:1m}") Duration emailPeriod,
+                            @Value("${app.login-rate-limit.capacity:65536}") int capacity) {
+        this.enabled = enabled;
+        this.byIp = new RateLimiter(ipLimit, ipPeriod, capacity);
+        this.byEmail = new RateLimiter(emailLimit, emailPeriod, capacity);
+
+        metricsRegistry.counter("alarm_login_rate_limited_ip_total", "Login attempts rejected by the per-IP limit", byIp::getRejected);
+        metricsRegistry.counter("alarm_login_rate_limited_email_total", "Login attempts rejected by the per-email limit", byEmail::getRejected);
+        metricsRegistry.counter("alarm_login_rate_limit_evictions_total", "Active rate limit entries overwritten because the table was full",
+                () -> byIp.getEvicted() + byEmail.getEvicted());
+        metricsRegistry.gauge("alarm_login_rate_limit_keys", "Rate limited IPs and emails currently tracked",
+                () -> byIp.countActiveKeys() + byEmail.countActiveKeys());
+    }
+
+    /**
+     * @throws TooManyRequestsException IP 또는 이메일의 시도 횟수를 넘은 경우 (429)
+     */
+    public void check(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        if (!byIp.tryAcquire(clientIp)) {
+            throw new TooManyRequestsException();
+        }
+        // 대소문자만 바꿔서 한도를 피하지 못하도록
+        if (email != null && !byEmail.tryAcquire(email.trim().toLowerCase(Locale.ROOT))) {
+            throw new TooManyRequestsException();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package study.alarmservice.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * GCRA(generic cell rate algorithm) 기반 key별 rate limiter (period 동안 limit번, token bucket과 같은 결과)
+ * key마다 다음 요청이 허용되는 이론적 도착 시각(TAT) 하나만 저장한다.
+ * 슬롯(long) 하나에 key fingerprint(24bit)와 TAT(ms, 40bit)를 함께 담아서 CAS 한 번으로 갱신하므로 락이 없다.
+ *
+ * 고정 크기 open addressing 테이블을 shard로 나누고, key는 home 슬롯부터 PROBES칸 안에서만 찾는다.
+ * TAT가 지난 슬롯은 bucket이 가득 찬 상태와 같아서 다른 key가 바로 재사용한다. (idle key 제거)
+ * 빈 슬롯이 없으면 TAT가 가장 이른 슬롯을 덮어쓰므로 메모리는 capacity * 8byte로 고정이다.
+ * hash에 프로세스마다 다른 seed를 섞어서 특정 key와 충돌하는 key를 미리 만들 수 없게 한다.
+ */
+public class RateLimiter {
+
+    private static final int PROBES = 8;
+    private static final int SHARD_BITS = 4;
+    private static final int MAX_SLOT_BITS = 20;
+    private static final int TIME_BITS = 40;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final long FINGERPRINT_MASK = (1L << (Long.SIZE - TIME_BITS)) - 1;
+
+    private final AtomicLongArray[] shards = new AtomicLongArray[1 << SHARD_BITS];
+    private final int slotMask;
+    private final long intervalMillis;
+    private final long toleranceMillis;
+    private final long seed = ThreadLocalRandom.current().nextLong();
+    private final long originNanos = System.nanoTime();
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    /**
+     * @param capacity 전체 슬롯 수 (shard마다 2의 거듭제곱으로 올림)
+     */
+    public RateLimiter(int limit, Duration period, int capacity) {
+        if (limit < 1 || period.toMillis() < limit) {
+            throw new IllegalArgumentException("Rate limit must be between 1 and 1 per millisecond: " + limit + "/" + period);
+        }
+        this.intervalMillis = period.toMillis() / limit;
+        this.toleranceMillis = intervalMillis * limit;
+
+        int slotsPerShard = Math.max(capacity >> SHARD_BITS, PROBES);
+        slotsPerShard = Math.min(Integer.highestOneBit(slotsPerShard - 1) << 1, 1 << MAX_SLOT_BITS);
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new AtomicLongArray(slotsPerShard);
+        }
+        this.slotMask = slotsPerShard - 1;
+    }
+
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    boolean tryAcquire(String key, long nanoTime) {
+        long now = toMillis(nanoTime);
+        long hash = hash(key);
+        long fingerprint = fingerprint(hash);
+        AtomicLongArray slots = shards[(int) (hash >>> (Long.SIZE - SHARD_BITS))];
+        int home = (int) hash & slotMask;
+
+        while (true) {
+            int target = -1;
+            long targetValue = 0;
+            boolean found = false;
+            int oldest = home;
+            long oldestValue = Long.MAX_VALUE;
+
+            for (int probe = 0; probe < PROBES; probe++) {
+                int index = (home + probe) & slotMask;
+                long value = slots.get(index);
+                if (value != 0 && value >>> TIME_BITS == fingerprint) {
+                    target = index;
+                    targetValue = value;
+                    found = true;
+                    break;
+                }
+                if (target < 0 && (value & TIME_MASK) <= now) {
+                    // 비어 있거나 TAT가 지난 슬롯 (같은 key가 뒤쪽에 있을 수 있으므로 끝까지 찾아본다)
+                    target = index;
+                    targetValue = value;
+                }
+                if ((value & TIME_MASK) < (oldestValue & TIME_MASK)) {
+                    oldest = index;
+                    oldestValue = value;
+                }
+            }
+
+            boolean eviction = target < 0;
+            if (eviction) {
+                target = oldest;
+                targetValue = oldestValue;
+            }
+
+            long tat = found ? Math.max(targetValue & TIME_MASK, now) : now;
+            long nextTat = tat + intervalMillis;
+            if (nextTat - now > toleranceMillis) {
+                rejected.increment();
+                return false;
+            }
+            if (slots.compareAndSet(target, targetValue, fingerprint << TIME_BITS | nextTat)) {
+                if (eviction) {
+                    evicted.increment();
+                }
+                return true;
+            }
+            // 다른 스레드가 먼저 바꿨으면 다시 읽는다.
+        }
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getEvicted() {
+        return evicted.sum();
+    }
+
+    /**
+     * 아직 TAT가 지나지 않은(제한 중인) key 수, 테이블 전체를 훑는다.
+     */
+    public long countActiveKeys() {
+        long now = toMillis(System.nanoTime());
+        long count = 0;
+        for (AtomicLongArray slots : shards) {
+            for (int i = 0; i < slots.length(); i++) {
+                if ((slots.get(i) & TIME_MASK) > now) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    public int capacity() {
+        return shards.length * (slotMask + 1);
+    }
+
+    /**
+     * 시작 시각부터의 ms, 0은 빈 슬롯과 구분하기 위해 1부터 시작한다.
+     */
+    private long toMillis(long nanoTime) {
+        return (nanoTime - originNanos) / 1_000_000 + 1;
+    }
+
+    private long hash(String key) {
+        long hash = seed;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * shard(상위 bit), 슬롯 index(하위 bit)와 겹치지 않는 24bit, 0이 아니어야 한다.
+     */
+    private static long fingerprint(long hash) {
+        long fingerprint = hash >>> MAX_SLOT_BITS & FINGERPRINT_MASK;
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+}
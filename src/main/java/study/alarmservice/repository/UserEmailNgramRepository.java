@@ -0,0 +1,8 @@
+package study.alarmservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import study.alarmservice.domain.UserEmailNgram;
+import study.alarmservice.domain.UserEmailNgramId;
+
+public interface UserEmailNgramRepository extends JpaRepository<UserEmailNgram, UserEmailNgramId> {
+}
@@ -1,11 +1,79 @@
 package study.alarmservice.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import study.alarmservice.domain.User;
+import study.alarmservice.dto.response.UserResponseDto;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * 선언한 조회 메서드도 SimpleJpaRepository의 메서드처럼 읽기 전용 트랜잭션에서 실행한다. (라우팅을 켜면 replica에서 읽는다.)
+ */
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     Optional<User> findByEmail(String email);
+
+    /**
+     * 가변 길이 문자열 unique 인덱스로 찾는다. emailHash가 아직 없는 회원(backfill 전)을 찾을 때만 사용한다.
+     * @param normalizedEmail User.normalizeEmail로 정규화한 이메일
+     */
+    Optional<User> findByNormalizedEmail(String normalizedEmail);
+
+    /**
+     * emailHash 인덱스(8byte 고정 길이)로 후보를 찾고, hash가 충돌한 다른 회원은 전체 이메일로 걸러낸다.
+     * @param normalizedEmail User.normalizeEmail로 정규화한 이메일
+     */
+    default Optional<User> findByHashedEmail(String normalizedEmail) {
+        for (User user : findAllByEmailHash(User.hashEmail(normalizedEmail))) {
+            if (user.getNormalizedEmail().equals(normalizedEmail)) {
+                return Optional.of(user);
+            }
+        }
+        return Optional.empty();
+    }
+
+    List<User> findAllByEmailHash(Long emailHash);
+
+    /**
+     * 대량 회원가입 시 이메일 중복 여부를 한 번의 쿼리로 확인한다.
+     * hash가 같은 다른 이메일도 함께 나오므로 호출하는 쪽에서 이메일로 비교한다.
+     */
+    @Query("select u.normalizedEmail from User u where u.emailHash in :emailHashes")
+    List<String> findNormalizedEmailsByEmailHashIn(@Param("emailHashes") Collection<Long> emailHashes);
+
+    /**
+     * 전체 회원 내보내기용 forward-only 조회
+     * 엔티티가 아닌 UserResponseDto로 바로 조회해서 영속성 컨텍스트에 쌓이지 않고,
+     * 드라이버는 fetch size만큼씩 가져온다. (MySQL은 useCursorFetch=true 필요)
+     * 트랜잭션 안에서 사용하고, 다 읽은 뒤 close 해야 한다.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new study.alarmservice.dto.response.UserResponseDto(u.id, u.email) from User u order by u.id")
+    Stream<UserResponseDto> streamAllForExport();
+
+    /**
+     * 가입 이메일 필터(RegisteredEmailFilter)를 만들 때 전체 이메일을 forward-only로 읽는다.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.normalizedEmail from User u")
+    Stream<String> streamAllNormalizedEmails();
+
+    /**
+     * 엔티티를 다시 조회(merge)하지 않고 비밀번호 해시만 갱신한다.
+     */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -2,6 +2,7 @@ package study.alarmservice.repository;
 
 import study.alarmservice.domain.User;
 import study.alarmservice.dto.request.UserSearchDto;
+import study.alarmservice.dto.response.UserResponseDto;
 
 import java.util.List;
 
@@ -10,4 +11,22 @@ public interface UserRepositoryCustom {
     List<User> findUsers(UserSearchDto userSearchDto);
 
     int findUsersCount(UserSearchDto userSearchDto);
+
+    /**
+     * 아래는 엔티티 대신 id, email만 UserResponseDto로 바로 조회한다. (조회 조건과 순서는 findUsers와 같다)
+     * 비밀번호 해시, 권한, 생성/수정 시각을 읽지 않고 영속성 컨텍스트와 스냅샷도 만들지 않는다.
+     */
+    List<UserResponseDto> findUserResponses(UserSearchDto userSearchDto);
+
+    /**
+     * count 쿼리 없이 다음 페이지 존재 여부를 판단하기 위해 limit + 1 개를 조회한다.
+     */
+    List<UserResponseDto> findUserResponsesWithNextProbe(UserSearchDto userSearchDto);
+
+    /**
+     * 커서 기반(seek) 조회
+     * 다음 페이지 존재 여부를 알기 위해 limit + 1 개를 조회하며,
+     * afterId가 있으면 id 내림차순, beforeId가 있으면 id 오름차순으로 반환한다.
+     */
+    List<UserResponseDto> findUserResponsesByCursor(UserSearchDto userSearchDto, Long afterId, Long beforeId);
 }
@@ -1,28 +1,66 @@
 package study.alarmservice.repository;
 
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import study.alarmservice.domain.QUser;
 import study.alarmservice.domain.User;
+import study.alarmservice.domain.UserEmailNgram;
+import study.alarmservice.dto.request.EmailSearchType;
 import study.alarmservice.dto.request.UserSearchDto;
+import study.alarmservice.dto.response.UserResponseDto;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static study.alarmservice.domain.QUser.*;
+import static study.alarmservice.domain.QUserEmailNgram.*;
 
+/**
+ * SimpleJpaRepository와 같이 조회마다 자체 읽기 전용 트랜잭션을 사용한다.
+ * 호출하는 쪽이 트랜잭션 없이(SUPPORTS) 실행되어도 쿼리가 끝나면 바로 커넥션을 반납한다.
+ */
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class UserRepositoryCustomImpl implements UserRepositoryCustom {
 
+    private static final ConstructorExpression<UserResponseDto> USER_RESPONSE =
+            Projections.constructor(UserResponseDto.class, user.id, user.email);
+
     private final JPAQueryFactory query;
 
     @Override
     public List<User> findUsers(UserSearchDto userSearchDto) {
-        return query
-                .selectFrom(user)
-                .limit(userSearchDto.getLimit(userSearchDto.getSize()))
+        return findUsers(user, userSearchDto, userSearchDto.getLimit(userSearchDto.getSize()));
+    }
+
+    @Override
+    public List<UserResponseDto> findUserResponses(UserSearchDto userSearchDto) {
+        return findUsers(USER_RESPONSE, userSearchDto, userSearchDto.getLimit(userSearchDto.getSize()));
+    }
+
+    @Override
+    public List<UserResponseDto> findUserResponsesWithNextProbe(UserSearchDto userSearchDto) {
+        return findUsers(USER_RESPONSE, userSearchDto, userSearchDto.getLimit(userSearchDto.getSize()) + 1);
+    }
+
+    private <T> List<T> findUsers(Expression<T> projection, UserSearchDto userSearchDto, int limit) {
+        return readOnly(query
+                .select(projection)
+                .from(user)
+                .where(emailCondition(userSearchDto))
+                .limit(limit)
                 .offset(userSearchDto.getOffset(userSearchDto.getPage(), userSearchDto.getSize()))
-                .orderBy(user.id.desc())
+                .orderBy(user.id.desc()))
                 .fetch();
     }
 
@@ -31,9 +69,75 @@ public class UserRepositoryCustomImpl implements UserRepositoryCustom {
         Long count = query
                 .select(user.count())
                 .from(user)
+                .where(emailCondition(userSearchDto))
                 .fetchOne();
 
         return Optional.ofNullable(count).orElse(0L).intValue();
     }
 
+    /**
+     * offset 없이 PK 인덱스에서 커서 위치부터 바로 읽기 때문에
+     * 페이지가 깊어져도 조회 비용이 일정하다.
+     */
+    @Override
+    public List<UserResponseDto> findUserResponsesByCursor(UserSearchDto userSearchDto, Long afterId, Long beforeId) {
+        int limit = userSearchDto.getLimit(userSearchDto.getSize());
+        if (beforeId != null) {
+            return readOnly(query
+                    .select(USER_RESPONSE)
+                    .from(user)
+                    .where(user.id.gt(beforeId), emailCondition(userSearchDto))
+                    .orderBy(user.id.asc())
+                    .limit(limit + 1))
+                    .fetch();
+        }
+
+        return readOnly(query
+                .select(USER_RESPONSE)
+                .from(user)
+                .where(afterId == null ? null : user.id.lt(afterId), emailCondition(userSearchDto))
+                .orderBy(user.id.desc())
+                .limit(limit + 1))
+                .fetch();
+    }
+
+    /**
+     * 바깥의 쓰기 트랜잭션에 참여해서 실행되더라도 조회한 엔티티의 스냅샷을 만들지 않는다. (dirty checking 제외)
+     */
+    private static <T> JPAQuery<T> readOnly(JPAQuery<T> jpaQuery) {
+        return jpaQuery.setHint(AvailableHints.HINT_READ_ONLY, true);
+    }
+
+    /**
+     * PREFIX: normalized_email like 'keyword%' -> 정규화한 이메일 unique 인덱스 range scan (대소문자 무시)
+     * CONTAINS: keyword의 trigram을 모두 가진 회원만 trigram 인덱스에서 추린 뒤
+     *           email like '%keyword%'로 최종 확인한다.
+     *           trigram을 만들 수 없는 짧은 keyword는 like 검색만 한다.
+     */
+    private BooleanExpression emailCondition(UserSearchDto userSearchDto) {
+        String keyword = userSearchDto.getSearchEmail();
+        if (!StringUtils.hasText(keyword)) {
+            return null;
+        }
+
+        keyword = keyword.trim();
+        if (userSearchDto.getSearchType() != EmailSearchType.CONTAINS) {
+            return user.normalizedEmail.startsWith(User.normalizeEmail(keyword));
+        }
+
+        Set<String> grams = UserEmailNgram.gramsOf(keyword);
+        if (grams.isEmpty()) {
+            return user.email.contains(keyword);
+        }
+
+        return user.id.in(
+                        JPAExpressions
+                                .select(userEmailNgram.id.userId)
+                                .from(userEmailNgram)
+                                .where(userEmailNgram.id.gram.in(grams))
+                                .groupBy(userEmailNgram.id.userId)
+                                .having(userEmailNgram.id.gram.count().eq((long) grams.size())))
+                .and(user.email.contains(keyword));
+    }
+
 }
@@ -0,0 +1,140 @@
+package study.alarmservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import study.alarmservice.domain.LoginUser;
+import study.alarmservice.domain.Role;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 서명된 로그인 토큰 발급/검증 (AuthMode.TOKEN)
+ * 토큰 형식: base64url(userId 8byte + role 1byte + 만료시각(epoch초) 8byte) + "." + base64url(HMAC-SHA256)
+ * 서버에 아무것도 저장하지 않으므로 같은 secret을 쓰는 모든 노드에서 검증할 수 있다.
+ */
+@Slf4j
+@Service
+public class AuthTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_SIZE = Long.BYTES + 1 + Long.BYTES;
+    private static final int PAYLOAD_CHARS = 23; // base64url(17byte) without padding
+    private static final int SIGNATURE_CHARS = 43; // base64url(32byte) without padding
+    private static final Role[] ROLES = Role.values();
+
+    private final SecretKeySpec key;
+    // ThreadLocal은 virtual thread마다(요청마다) Mac을 새로 만들게 되므로 작은 풀을 재사용한다.
+    private final Queue<Mac> macs = new ConcurrentLinkedQueue<>();
+    private final long ttlSeconds;
+    private final Clock clock;
+
+    @Autowired
+    public AuthTokenService(@Value("${app.auth.token.secret:}") String secret,
+                            @Value("${app.auth.token.ttl:30m}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    AuthTokenService(String secret, Duration ttl, Clock clock) {
+        this.key = new SecretKeySpec(secretBytes(secret), ALGORITHM);
+        this.ttlSeconds = ttl.toSeconds();
+        this.clock = clock;
+    }
+
+    public String issue(LoginUser loginUser) {
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_SIZE)
+                .putLong(loginUser.getUserId())
+                .put((byte) loginUser.getRole().ordinal())
+                .putLong(clock.instant().getEpochSecond() + ttlSeconds);
+
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload.array()) + "." + encoder.encodeToString(sign(payload.array()));
+    }
+
+    /**
+     * 길이 확인 -> 서명 비교 -> 만료 확인 순서로 검증한다.
+     * @return 유효하지 않거나 만료된 토큰이면 null
+     */
+    public LoginUser verify(String token) {
+        if (token == null || token.length() != PAYLOAD_CHARS + 1 + SIGNATURE_CHARS || token.charAt(PAYLOAD_CHARS) != '.') {
+            return null;
+        }
+
+        byte[] tokenBytes = token.getBytes(StandardCharsets.US_ASCII);
+        byte[] payload;
+        byte[] signature;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payload = decoder.decode(ByteBuffer.wrap(tokenBytes, 0, PAYLOAD_CHARS)).array();
+            signature = decoder.decode(ByteBuffer.wrap(tokenBytes, PAYLOAD_CHARS + 1, SIGNATURE_CHARS)).array();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        long userId = buffer.getLong();
+        int role = buffer.get();
+        long expiresAt = buffer.getLong();
+        if (expiresAt <= clock.instant().getEpochSecond() || role < 0 || role >= ROLES.length) {
+            return null;
+        }
+        return new LoginUser(userId, ROLES[role]);
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    private byte[] sign(byte[] payload) {
+        Mac mac = macs.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        try {
+            return mac.doFinal(payload);
+        } finally {
+            macs.offer(mac);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * secret이 없으면 임의의 키를 만든다. (재시작하면 기존 토큰은 무효, 여러 노드에서는 반드시 같은 secret 설정)
+     */
+    private static byte[] secretBytes(String secret) {
+        if (StringUtils.hasText(secret)) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+
+        log.warn("app.auth.token.secret is not set. Using a random key; tokens will not survive a restart or work across nodes.");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+}
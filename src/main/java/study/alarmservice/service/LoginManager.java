@@ -0,0 +1,99 @@
+package study.alarmservice.service;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import study.alarmservice.constant.AuthMode;
+import study.alarmservice.constant.SessionConst;
+import study.alarmservice.domain.LoginUser;
+
+/**
+ * 로그인 상태 저장/조회
+ * SESSION 모드는 HttpSession에, TOKEN 모드는 서명된 토큰(Authorization 헤더 또는 쿠키)에 로그인 사용자를 담는다.
+ */
+@Component
+public class LoginManager {
+
+    public static final String TOKEN_COOKIE = "AUTH_TOKEN";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AuthMode authMode;
+    private final AuthTokenService authTokenService;
+
+    public LoginManager(@Value("${app.auth.mode:session}") AuthMode authMode,
+                        AuthTokenService authTokenService) {
+        this.authMode = authMode;
+        this.authTokenService = authTokenService;
+    }
+
+    public void login(LoginUser loginUser, HttpServletRequest request, HttpServletResponse response) {
+        if (authMode == AuthMode.SESSION) {
+            HttpSession session = request.getSession();
+            session.setAttribute(SessionConst.LOGIN_USER, loginUser);
+            return;
+        }
+
+        String token = authTokenService.issue(loginUser);
+        response.setHeader(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + token);
+        response.addCookie(tokenCookie(token, (int) authTokenService.getTtlSeconds()));
+    }
+
+    /**
+     * TOKEN 모드는 서버에 저장된 것이 없으므로 쿠키만 지운다. (발급된 토큰은 만료 시각까지 유효)
+     */
+    public void logout(HttpServletRequest request, HttpServletResponse response) {
+        if (authMode == AuthMode.SESSION) {
+            HttpSession session = request.getSession(false);
+            if (session != null) {
+                session.invalidate();
+            }
+            return;
+        }
+
+        response.addCookie(tokenCookie("", 0));
+    }
+
+    /**
+     * @return 로그인하지 않았으면 null
+     */
+    public LoginUser getLoginUser(HttpServletRequest request) {
+        if (authMode == AuthMode.SESSION) {
+            HttpSession session = request.getSession(false);
+            if (session != null && session.getAttribute(SessionConst.LOGIN_USER) instanceof LoginUser loginUser) {
+                return loginUser;
+            }
+            return null;
+        }
+
+        return authTokenService.verify(resolveToken(request));
+    }
+
+    private String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return header.substring(BEARER_PREFIX.length());
+        }
+
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (TOKEN_COOKIE.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private Cookie tokenCookie(String value, int maxAge) {
+        Cookie cookie = new Cookie(TOKEN_COOKIE, value);
+        cookie.setHttpOnly(true);
+        cookie.setPath("/");
+        cookie.setMaxAge(maxAge);
+        return cookie;
+    }
+}
@@ -0,0 +1,175 @@
+package study.alarmservice.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import study.alarmservice.dto.response.PasswordHashStatsDto;
+import study.alarmservice.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 비밀번호 해시 전용 스레드 풀
+ * BCrypt는 CPU 작업이므로 CPU 코어 수만큼의 스레드와 크기가 제한된 큐를 사용한다.
+ * 요청 스레드(Tomcat)는 해시가 끝날 때까지 기다리기만 하고,
+ * 큐가 가득 차면 기다리지 않고 바로 429로 거절한다. (admission control)
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor hashExecutor;
+    private final int queueCapacity;
+    private final long timeoutNanos;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${app.password-hash.threads:0}") int threads,
+                          @Value("${app.password-hash.queue-capacity:256}") int queueCapacity,
+                          @Value("${app.password-hash.timeout:5s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.queueCapacity = queueCapacity;
+        this.timeoutNanos = timeout.toNanos();
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.hashExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * @throws TooManyRequestsException 큐가 가득 찼거나 timeout 안에 해시가 끝나지 않은 경우
+     */
+    public String encode(String rawPassword) {
+        return await(submit(() -> passwordEncoder.encode(rawPassword)), timeoutNanos);
+    }
+
+    /**
+     * @throws TooManyRequestsException 큐가 가득 찼거나 timeout 안에 검증이 끝나지 않은 경우
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(submit(() -> passwordEncoder.matches(rawPassword, encodedPassword)), timeoutNanos);
+    }
+
+    /**
+     * 현재 설정(알고리즘, 비용)보다 약한 해시라서 다시 해시해야 하는지 확인한다.
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 여러 비밀번호를 병렬로 해시한다. (대량 회원가입)
+     * 큐가 가득 차면 거절하지 않고 호출한 스레드에서 직접 해시해서 자연스럽게 속도를 맞춘다.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            Callable<String> task = () -> passwordEncoder.encode(rawPassword);
+            long enqueuedAt = System.nanoTime();
+            try {
+                futures.add(hashExecutor.submit(() -> timed(task, enqueuedAt)));
+            } catch (RejectedExecutionException e) {
+                FutureTask<String> inline = new FutureTask<>(() -> timed(task, enqueuedAt));
+                inline.run();
+                futures.add(inline);
+            }
+        }
+
+        List<String> encoded = new ArrayList<>(futures.size());
+        for (Future<String> future : futures) {
+            // 대량 처리는 거절하지 않으므로 timeout 없이 기다린다.
+            encoded.add(await(future, Long.MAX_VALUE));
+        }
+        return encoded;
+    }
+
+    public PasswordHashStatsDto getStats() {
+        long count = completed.sum();
+        return PasswordHashStatsDto.builder()
+                .poolSize(hashExecutor.getPoolSize())
+                .activeThreads(hashExecutor.getActiveCount())
+                .queueDepth(hashExecutor.getQueue().size())
+                .queueCapacity(queueCapacity)
+                .completed(count)
+                .rejected(rejected.sum())
+                .timedOut(timedOut.sum())
+                .avgHashMillis(count == 0 ? 0 : toMillis(hashNanos.sum()) / count)
+                .maxHashMillis(toMillis(maxHashNanos.get()))
+                .avgQueueWaitMillis(count == 0 ? 0 : toMillis(queueWaitNanos.sum()) / count)
+                .build();
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return hashExecutor.submit(() -> timed(task, enqueuedAt));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw busy();
+        }
+    }
+
+    private <T> T timed(Callable<T> task, long enqueuedAt) throws Exception {
+        long startedAt = System.nanoTime();
+        try {
+            return task.call();
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            completed.increment();
+            hashNanos.add(elapsed);
+            queueWaitNanos.add(startedAt - enqueuedAt);
+            maxHashNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private <T> T await(Future<T> future, long timeoutNanos) {
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private TooManyRequestsException busy() {
+        return new TooManyRequestsException();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdown();
+    }
+}
@@ -0,0 +1,316 @@
+package study.alarmservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.alarmservice.datasource.PrimaryStickiness;
+import study.alarmservice.domain.User;
+import study.alarmservice.dto.request.UserCreateRequestDto;
+import study.alarmservice.dto.response.BulkJoinStatus;
+import study.alarmservice.dto.response.UserBulkJoinResponseDto;
+import study.alarmservice.event.UserJoinedEvent;
+import study.alarmservice.repository.UserRepository;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 대량 회원가입
+ * 요청 본문(NDJSON 또는 CSV)을 chunkSize 단위로 읽어서
+ * 1. 검증 및 파일 내 이메일 중복 제거 (정규화한 이메일 기준)
+ * 2. 기존 회원 이메일 중복 확인 (chunk당 쿼리 1번)
+ * 3. 비밀번호 병렬 해시 (PasswordHasher)
+ * 4. chunk 단위 트랜잭션으로 JDBC batch insert
+ * 순서로 처리하고, 처리한 chunk의 행별 결과를 바로 응답에 NDJSON으로 쓴다.
+ */
+@Slf4j
+@Service
+public class UserBulkJoinService {
+
+    private final UserRepository userRepository;
+    private final UserEmailNgramIndexer userEmailNgramIndexer;
+    private final PasswordHasher passwordHasher;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final MessageSource messageSource;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PrimaryStickiness primaryStickiness;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public UserBulkJoinService(UserRepository userRepository,
+                               UserEmailNgramIndexer userEmailNgramIndexer,
+                               PasswordHasher passwordHasher,
+                               Validator validator,
+                               ObjectMapper objectMapper,
+                               MessageSource messageSource,
+                               ApplicationEventPublisher eventPublisher,
+                               PrimaryStickiness primaryStickiness,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.bulk-join.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.userEmailNgramIndexer = userEmailNgramIndexer;
+        this.passwordHasher = passwordHasher;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.messageSource = messageSource;
+        this.eventPublisher = eventPublisher;
+        this.primaryStickiness = primaryStickiness;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param csv true면 "email,password" 형식의 CSV (첫 줄이 헤더면 건너뛴다), false면 NDJSON
+     */
+    public void bulkJoin(InputStream in, boolean csv, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<BulkJoinRow> chunk = new ArrayList<>(chunkSize);
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (csv && lineNumber == 1 && isCsvHeader(line))) {
+                continue;
+            }
+
+            chunk.add(csv ? parseCsv(lineNumber, line) : parseJson(lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                process(chunk);
+                write(chunk, out);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            process(chunk);
+            write(chunk, out);
+        }
+    }
+
+    private void process(List<BulkJoinRow> chunk) {
+        List<BulkJoinRow> candidates = validate(chunk);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // backfill 전(emailHash가 없는) 회원과의 중복은 insert 시 unique 제약 위반으로 걸러진다.
+        Set<String> existingEmails = new HashSet<>(userRepository.findNormalizedEmailsByEmailHashIn(
+                candidates.stream().map(row -> User.hashEmail(row.getNormalizedEmail())).toList()));
+        candidates.removeIf(row -> {
+            if (existingEmails.contains(row.getNormalizedEmail())) {
+                row.fail(BulkJoinStatus.DUPLICATE, message("email.duplicate"));
+                return true;
+            }
+            return false;
+        });
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<String> hashedPasswords = passwordHasher.encodeAll(
+                candidates.stream().map(row -> row.getRequestDto().getPassword()).toList());
+        for (int i = 0; i < candidates.size(); i++) {
+            candidates.get(i).hashedPassword = hashedPasswords.get(i);
+        }
+
+        try {
+            insert(candidates);
+        } catch (DataIntegrityViolationException e) {
+            // 조회 이후 다른 요청이 같은 이메일로 가입했거나 다른 제약을 위반한 행이 있으면 chunk 전체가 롤백되므로 한 건씩 다시 저장한다.
+            for (BulkJoinRow row : candidates) {
+                try {
+                    insert(List.of(row));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    if (UserService.isEmailDuplicate(rowFailure)) {
+                        row.fail(BulkJoinStatus.DUPLICATE, message("email.duplicate"));
+                    } else {
+                        log.warn("Bulk join row {} failed", row.line, rowFailure);
+                        row.fail(BulkJoinStatus.FAILED, message("bulkJoin.failed"));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Bean Validation과 파일 내 이메일 중복을 확인하고, 저장할 행만 반환한다.
+     */
+    private List<BulkJoinRow> validate(List<BulkJoinRow> chunk) {
+        Set<String> emails = new HashSet<>();
+        List<BulkJoinRow> candidates = new ArrayList<>(chunk.size());
+        for (BulkJoinRow row : chunk) {
+            if (row.status != null) {
+                continue;
+            }
+
+            Set<ConstraintViolation<UserCreateRequestDto>> violations = validator.validate(row.getRequestDto());
+            if (!violations.isEmpty()) {
+                row.fail(BulkJoinStatus.INVALID, violations.iterator().next().getMessage());
+            } else if (!emails.add(row.getNormalizedEmail())) {
+                row.fail(BulkJoinStatus.DUPLICATE, message("email.duplicate"));
+            } else {
+                candidates.add(row);
+            }
+        }
+        return candidates;
+    }
+
+    private void insert(List<BulkJoinRow> rows) {
+        List<User> users = rows.stream()
+                .map(row -> {
+                    User user = row.getRequestDto().toEntity();
+                    user.hashPassword(row.hashedPassword);
+                    user.guestUser();
+                    return user;
+                })
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.saveAll(users);
+            userEmailNgramIndexer.indexAll(users);
+            users.forEach(user -> eventPublisher.publishEvent(new UserJoinedEvent(user.getId(), user.getEmail())));
+        });
+
+        // 가입(UserService.join)과 같이 커밋한 회원의 조회는 sticky-window 동안 primary에서 읽는다.
+        for (User user : users) {
+            primaryStickiness.written(user.getId());
+            primaryStickiness.written(user.getNormalizedEmail());
+        }
+        primaryStickiness.written(PrimaryStickiness.USER_LIST);
+
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).created(users.get(i).getId());
+        }
+    }
+
+    private void write(List<BulkJoinRow> chunk, OutputStream out) throws IOException {
+        for (BulkJoinRow row : chunk) {
+            UserBulkJoinResponseDto responseDto = UserBulkJoinResponseDto.builder()
+                    .line(row.line)
+                    .email(row.getEmail())
+                    .status(row.status)
+                    .userId(row.userId)
+                    .message(row.message)
+                    .build();
+            out.write(objectMapper.writeValueAsBytes(responseDto));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    private BulkJoinRow parseJson(int lineNumber, String line) {
+        try {
+            return new BulkJoinRow(lineNumber, objectMapper.readValue(line, UserCreateRequestDto.class));
+        } catch (JsonProcessingException e) {
+            return BulkJoinRow.invalid(lineNumber, message("badRequest"));
+        }
+    }
+
+    private BulkJoinRow parseCsv(int lineNumber, String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 2) {
+            return BulkJoinRow.invalid(lineNumber, message("badRequest"));
+        }
+
+        UserCreateRequestDto requestDto = UserCreateRequestDto.builder()
+                .email(fields.get(0).trim())
+                .password(fields.get(1))
+                .build();
+        return new BulkJoinRow(lineNumber, requestDto);
+    }
+
+    private boolean isCsvHeader(String line) {
+        List<String> fields = splitCsv(line);
+        return !fields.isEmpty() && fields.get(0).trim().equalsIgnoreCase("email");
+    }
+
+    /**
+     * 큰따옴표로 감싼 필드("a,b")와 이스케이프된 큰따옴표("")를 지원하는 CSV 한 줄 분리
+     */
+    private List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private String message(String code) {
+        return messageSource.getMessage(code, null, LocaleContextHolder.getLocale());
+    }
+
+    private static class BulkJoinRow {
+
+        private final int line;
+        private final UserCreateRequestDto requestDto;
+        private String hashedPassword;
+        private BulkJoinStatus status;
+        private Long userId;
+        private String message;
+
+        private BulkJoinRow(int line, UserCreateRequestDto requestDto) {
+            this.line = line;
+            this.requestDto = requestDto;
+        }
+
+        private static BulkJoinRow invalid(int line, String message) {
+            BulkJoinRow row = new BulkJoinRow(line, null);
+            row.fail(BulkJoinStatus.INVALID, message);
+            return row;
+        }
+
+        private UserCreateRequestDto getRequestDto() {
+            return requestDto;
+        }
+
+        private String getEmail() {
+            return requestDto == null ? null : requestDto.getEmail();
+        }
+
+        private String getNormalizedEmail() {
+            return User.normalizeEmail(getEmail());
+        }
+
+        private void fail(BulkJoinStatus status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+
+        private void created(Long userId) {
+            this.status = BulkJoinStatus.CREATED;
+            this.userId = userId;
+        }
+    }
+}
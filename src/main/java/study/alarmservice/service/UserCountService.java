@@ -0,0 +1,79 @@
+package study.alarmservice.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import study.alarmservice.cache.UserCountCache;
+import study.alarmservice.datasource.PrimaryStickiness;
+import study.alarmservice.dto.request.UserSearchDto;
+import study.alarmservice.repository.UserRepository;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 리스트의 전체 row 개수 조회
+ * CountMode별로 count 쿼리를 실행하거나, 캐시를 사용하거나, 별도 스레드에서 실행한다.
+ */
+@Service
+public class UserCountService {
+
+    private final UserRepository userRepository;
+    private final UserCountCache userCountCache;
+    private final PrimaryStickiness primaryStickiness;
+    private final ThreadPoolExecutor countExecutor;
+
+    public UserCountService(UserRepository userRepository,
+                            UserCountCache userCountCache,
+                            PrimaryStickiness primaryStickiness,
+                            @Value("${app.user-count.concurrent-threads:4}") int threads,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.userRepository = userRepository;
+        this.userCountCache = userCountCache;
+        this.primaryStickiness = primaryStickiness;
+
+        // count 쿼리는 I/O 대기이므로 virtual thread 모드에서는 virtual thread를 사용한다.
+        // 동시 count 쿼리 수(커넥션 사용량)는 threads로 계속 제한한다.
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("user-count-", 1).factory()
+                : Thread.ofPlatform().name("user-count-", 1).daemon(true).factory();
+        // 큐가 가득 차면 요청 스레드에서 직접 count 쿼리를 실행한다.
+        this.countExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(100),
+                threadFactory,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.countExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public int count(UserSearchDto userSearchDto) {
+        return userRepository.findUsersCount(userSearchDto);
+    }
+
+    /**
+     * 검색 조건이 없는 경우에만 전체 회원 수 캐시를 사용한다.
+     * @return 캐시를 사용할 수 없으면 null
+     */
+    public Integer cachedCount(UserSearchDto userSearchDto) {
+        if (StringUtils.hasText(userSearchDto.getSearchEmail())) {
+            return null;
+        }
+        return (int) userCountCache.get(() -> userRepository.findUsersCount(userSearchDto));
+    }
+
+    /**
+     * 요청 스레드의 트랜잭션과 무관한 별도 커넥션에서 count 쿼리를 실행한다.
+     * 요청 스레드가 primary에서 읽는 중이면(PrimaryStickiness) count 쿼리도 primary에서 실행한다.
+     */
+    public CompletableFuture<Integer> countAsync(UserSearchDto userSearchDto) {
+        return CompletableFuture.supplyAsync(primaryStickiness.propagate(() -> userRepository.findUsersCount(userSearchDto)), countExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        countExecutor.shutdown();
+    }
+}
@@ -0,0 +1,100 @@
+package study.alarmservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import study.alarmservice.domain.User;
+import study.alarmservice.metrics.MetricsRegistry;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * emailHash 컬럼 추가 전에 가입한 회원의 hash를 채운다.
+ * 시작할 때 별도 스레드에서 user_id 순서로 batch-size만큼씩 읽어서 JDBC batch update 한다. (batch마다 커밋)
+ * 끝나기 전에는 hash로 찾지 못한 이메일을 normalizedEmail로 다시 찾는다. (UserService.login)
+ */
+@Slf4j
+@Component
+public class UserEmailHashBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final LongAdder backfilled = new LongAdder();
+
+    private volatile boolean completed;
+
+    public UserEmailHashBackfill(JdbcTemplate jdbcTemplate,
+                                 MetricsRegistry metricsRegistry,
+                                 @Value("${app.email-hash-backfill.enabled:true}") boolean enabled,
+                                 @Value("${app.email-hash-backfill.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+
+        metricsRegistry.counter("alarm_email_hash_backfilled_total", "Users whose email hash was filled by the backfill job", backfilled::sum);
+        metricsRegistry.gauge("alarm_email_hash_backfill_completed", "1 when every user has an email hash", () -> completed ? 1L : 0L);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "email-hash-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return 이번에 채운 회원 수
+     */
+    public long backfill() {
+        long total = 0;
+        long lastId = 0;
+        while (true) {
+            List<Row> rows = jdbcTemplate.query(
+                    "select user_id, normalized_email from user where user_id > ? and email_hash is null order by user_id limit ?",
+                    (rs, rowNum) -> new Row(rs.getLong(1), rs.getString(2)), lastId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            // 그 사이 가입/변경된 행은 이미 hash가 있으므로 덮어쓰지 않는다.
+            jdbcTemplate.batchUpdate("update user set email_hash = ? where user_id = ? and email_hash is null", rows, rows.size(),
+                    (ps, row) -> {
+                        ps.setLong(1, User.hashEmail(row.normalizedEmail()));
+                        ps.setLong(2, row.userId());
+                    });
+            total += rows.size();
+            backfilled.add(rows.size());
+            lastId = rows.get(rows.size() - 1).userId();
+        }
+        completed = true;
+        return total;
+    }
+
+    /**
+     * @return false면 아직 hash가 없는 회원이 있을 수 있다. (꺼져 있으면 항상 false)
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    private void run() {
+        long startedAt = System.nanoTime();
+        try {
+            long total = backfill();
+            log.info("Email hash backfill completed: users={}, elapsed={}ms", total, (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Email hash backfill failed, lookups keep falling back to the email index", e);
+        }
+    }
+
+    private record Row(long userId, String normalizedEmail) {
+    }
+}
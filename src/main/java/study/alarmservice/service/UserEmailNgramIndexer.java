@@ -0,0 +1,32 @@
+package study.alarmservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import study.alarmservice.domain.User;
+import study.alarmservice.domain.UserEmailNgram;
+import study.alarmservice.repository.UserEmailNgramRepository;
+
+import java.util.List;
+
+/**
+ * 회원 이메일의 trigram 인덱스를 회원 저장과 같은 트랜잭션에서 갱신한다.
+ */
+@RequiredArgsConstructor
+@Component
+public class UserEmailNgramIndexer {
+
+    private final UserEmailNgramRepository userEmailNgramRepository;
+
+    @Transactional
+    public void index(User user) {
+        userEmailNgramRepository.saveAll(UserEmailNgram.of(user));
+    }
+
+    @Transactional
+    public void indexAll(List<User> users) {
+        userEmailNgramRepository.saveAll(users.stream()
+                .flatMap(user -> UserEmailNgram.of(user).stream())
+                .toList());
+    }
+}
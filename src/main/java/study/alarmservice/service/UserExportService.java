@@ -0,0 +1,103 @@
+package study.alarmservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.alarmservice.dto.response.UserResponseDto;
+import study.alarmservice.repository.UserRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 전체 회원 내보내기
+ * 한 번의 조회를 forward-only 커서로 읽으면서 행마다 바로 응답에 쓴다.
+ * 행은 엔티티가 아닌 UserResponseDto라서 영속성 컨텍스트에 남지 않으므로, 회원 수와 관계없이 힙 사용량이 일정하다.
+ * 내보내는 동안 커넥션 하나를 사용한다.
+ */
+@Slf4j
+@Service
+public class UserExportService {
+
+    private static final int FLUSH_ROWS = 1000;
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public UserExportService(UserRepository userRepository, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        // 행마다 flush 하지 않고 FLUSH_ROWS마다 내보낸다.
+        this.rowWriter = objectMapper.writerFor(UserResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * @param csv true면 "userId,email" 헤더가 있는 CSV, false면 NDJSON
+     * @return 내보낸 회원 수
+     */
+    @Transactional(readOnly = true)
+    public long export(OutputStream out, boolean csv) throws IOException {
+        long rows;
+        try (Stream<UserResponseDto> users = userRepository.streamAllForExport()) {
+            rows = csv ? writeCsv(users.iterator(), out) : writeNdjson(users.iterator(), out);
+        }
+        log.info("Exported users rows={} format={}", rows, csv ? "csv" : "ndjson");
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<UserResponseDto> users, OutputStream out) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (users.hasNext()) {
+                rowWriter.writeValue(generator, users.next());
+                generator.writeRaw('\n');
+                if (++rows % FLUSH_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long writeCsv(Iterator<UserResponseDto> users, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("userId,email\n");
+        while (users.hasNext()) {
+            UserResponseDto user = users.next();
+            writer.write(String.valueOf(user.getUserId()));
+            writer.write(',');
+            writer.write(csvField(user.getEmail()));
+            writer.write('\n');
+            if (++rows % FLUSH_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    /**
+     * 쉼표, 큰따옴표, 줄바꿈이 있으면 큰따옴표로 감싸고 큰따옴표는 두 번 쓴다.
+     */
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
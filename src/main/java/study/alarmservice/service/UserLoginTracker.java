@@ -0,0 +1,189 @@
+package study.alarmservice.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import study.alarmservice.metrics.MetricsRegistry;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 마지막 로그인 시각, 로그인 횟수 (write-behind)
+ * 로그인할 때 update 하지 않고 회원별로 메모리에 모아 두었다가(같은 회원은 한 항목으로 합침) flush-interval마다 JDBC batch update 한다.
+ * 모아 둔 회원이 capacity에 닿으면 새 회원의 기록은 버리고(dropped) 바로 flush를 요청한다.
+ * 종료할 때 남은 기록을 flush 한다. (비정상 종료하면 마지막 flush 이후의 기록은 잃는다.)
+ */
+@Slf4j
+@Component
+public class UserLoginTracker {
+
+    private static final String UPDATE_SQL = "update user set "
+            + "last_login_at = case when last_login_at is null or last_login_at < ? then ? else last_login_at end, "
+            + "login_count = login_count + ? "
+            + "where user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final ConcurrentHashMap<Long, PendingLogin> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "login-tracker-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile long lastFlushLagMillis;
+
+    public UserLoginTracker(JdbcTemplate jdbcTemplate,
+                            MetricsRegistry metricsRegistry,
+                            @Value("${app.login-tracker.enabled:true}") boolean enabled,
+                            @Value("${app.login-tracker.flush-interval:5s}") Duration flushInterval,
+                            @Value("${app.login-tracker.capacity:100000}") int capacity,
+                            @Value("${app.login-tracker.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+
+        metricsRegistry.counter("alarm_login_tracker_recorded_total", "Logins recorded by the write-behind tracker", recorded::sum);
+        metricsRegistry.counter("alarm_login_tracker_dropped_total", "Logins dropped because the tracker was full", dropped::sum);
+        metricsRegistry.counter("alarm_login_tracker_flushed_total", "Users written by tracker flushes", flushed::sum);
+        metricsRegistry.counter("alarm_login_tracker_flush_failures_total", "Tracker batches that failed and were kept for the next flush", failed::sum);
+        metricsRegistry.gauge("alarm_login_tracker_pending", "Users waiting to be flushed", pending::size);
+        metricsRegistry.gauge("alarm_login_tracker_flush_lag_ms", "Age of the oldest login written by the last flush", () -> lastFlushLagMillis);
+
+        if (enabled) {
+            long interval = flushInterval.toMillis();
+            flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void record(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        if (pending.size() >= capacity && !pending.containsKey(userId)) {
+            dropped.increment();
+            if (flushRequested.compareAndSet(false, true)) {
+                flusher.execute(this::flushQuietly);
+            }
+            return;
+        }
+        pending.merge(userId, new PendingLogin(System.currentTimeMillis(), 1, System.nanoTime()), PendingLogin::merge);
+        recorded.increment();
+    }
+
+    /**
+     * 모아 둔 기록을 batch-size씩 update 한다. 실패한 batch와 남은 기록은 다음 flush에서 다시 쓴다.
+     * @return update 한 회원 수
+     */
+    public synchronized int flush() {
+        flushRequested.set(false);
+        long now = System.nanoTime();
+        long oldest = now;
+        int total = 0;
+        List<Row> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        for (Long userId : pending.keySet()) {
+            PendingLogin login = pending.remove(userId);
+            if (login == null) {
+                continue;
+            }
+            batch.add(new Row(userId, login));
+            oldest = Math.min(oldest, login.firstRecordedNanos());
+            if (batch.size() >= batchSize) {
+                if (!write(batch)) {
+                    return total;
+                }
+                total += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            if (!write(batch)) {
+                return total;
+            }
+            total += batch.size();
+        }
+        if (total > 0) {
+            lastFlushLagMillis = TimeUnit.NANOSECONDS.toMillis(now - oldest);
+        }
+        return total;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private boolean write(List<Row> batch) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, row) -> {
+                Timestamp lastLoginAt = new Timestamp(row.login().lastLoginAt());
+                ps.setTimestamp(1, lastLoginAt);
+                ps.setTimestamp(2, lastLoginAt);
+                ps.setLong(3, row.login().count());
+                ps.setLong(4, row.userId());
+            });
+            flushed.add(batch.size());
+            return true;
+        } catch (DataAccessException e) {
+            failed.increment();
+            log.warn("Login tracker flush failed, keeping {} users for the next flush", batch.size(), e);
+            // 그 사이 들어온 기록과 합친다.
+            for (Row row : batch) {
+                pending.merge(row.userId(), row.login(), PendingLogin::merge);
+            }
+            return false;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Login tracker flush failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        if (enabled) {
+            int total = flush();
+            log.info("Login tracker flushed on shutdown: users={}, remaining={}", total, pending.size());
+        }
+    }
+
+    private record PendingLogin(long lastLoginAt, long count, long firstRecordedNanos) {
+
+        PendingLogin merge(PendingLogin other) {
+            return new PendingLogin(Math.max(lastLoginAt, other.lastLoginAt), count + other.count,
+                    Math.min(firstRecordedNanos, other.firstRecordedNanos));
+        }
+    }
+
+    private record Row(Long userId, PendingLogin login) {
+    }
+}
@@ -1,34 +1,52 @@
 package study.alarmservice.service;
 
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.MessageSource;
-import org.springframework.context.i18n.LocaleContextHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
-import study.alarmservice.constant.SessionConst;
+import study.alarmservice.cache.RegisteredEmailFilter;
+import study.alarmservice.cache.UserResponseCache;
+import study.alarmservice.datasource.PrimaryStickiness;
+import study.alarmservice.domain.LoginUser;
 import study.alarmservice.domain.User;
+import study.alarmservice.dto.request.CountMode;
 import study.alarmservice.dto.request.LoginRequestDto;
+import study.alarmservice.dto.request.PagingCursor;
 import study.alarmservice.dto.request.PagingRequest;
 import study.alarmservice.dto.request.UserCreateRequestDto;
 import study.alarmservice.dto.request.UserSearchDto;
 import study.alarmservice.dto.response.UserPageResponseDto;
 import study.alarmservice.dto.response.UserResponseDto;
+import study.alarmservice.event.UserJoinedEvent;
+import study.alarmservice.event.UserUpdatedEvent;
 import study.alarmservice.exception.EmailDuplicateException;
+import study.alarmservice.exception.InvalidCursorException;
 import study.alarmservice.exception.LoginFailException;
+import study.alarmservice.exception.TooManyRequestsException;
 import study.alarmservice.exception.UserNotFoundException;
+import study.alarmservice.logging.AsyncEventLogger;
+import study.alarmservice.ratelimit.LoginRateLimiter;
 import study.alarmservice.repository.UserRepository;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+@Slf4j
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @Validated
@@ -36,25 +54,69 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final MessageSource messageSource;
+    private final PasswordHasher passwordHasher;
+    private final UserCountService userCountService;
+    private final UserEmailNgramIndexer userEmailNgramIndexer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoginManager loginManager;
+    private final UserResponseCache userResponseCache;
+    private final AsyncEventLogger eventLogger;
+    private final LoginRateLimiter loginRateLimiter;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final UserEmailHashBackfill userEmailHashBackfill;
+    private final UserLoginTracker userLoginTracker;
+    private final PrimaryStickiness primaryStickiness;
 
+    /**
+     * 이메일 중복을 미리 조회하지 않고 바로 insert 해서, 정규화한 이메일의 unique 제약 위반을 중복으로 판단한다.
+     * 조회 후 insert는 왕복이 한 번 더 들고, 같은 이메일로 동시에 가입하면 둘 다 조회를 통과해서 커밋 시점의 제약 위반(500)이 된다.
+     * 제약 위반을 여기서 잡을 수 있도록 insert는 바로 flush 한다. (중복 가입도 비밀번호 해시 비용은 든다.)
+     * 가입 직후 조회, 로그인은 replica가 따라오기 전이라도 찾을 수 있도록 primary에서 읽는다. (PrimaryStickiness)
+     */
     @Transactional
     public Long join(@Valid UserCreateRequestDto requestDto) {
         User user = requestDto.toEntity();
-        Optional<User> hasID = userRepository.findByEmail(user.getEmail());
-        if (hasID.isPresent()) {
-            throw new EmailDuplicateException(messageSource.getMessage("email.duplicate", null, LocaleContextHolder.getLocale()));
+        user.hashPassword(passwordHasher.encode(user.getPassword()));
+        user.guestUser();
+        Long userId;
+        try {
+            userId = userRepository.saveAndFlush(user).getId();
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailDuplicate(e)) {
+                throw new EmailDuplicateException();
+            }
+            throw e;
         }
+        userEmailNgramIndexer.index(user);
+        primaryStickiness.written(userId);
+        primaryStickiness.written(user.getNormalizedEmail());
+        primaryStickiness.written(PrimaryStickiness.USER_LIST);
 
-        user.hashPassword(passwordEncoder.encode(user.getPassword()));
-        user.guestUser();
-        return userRepository.save(user).getId();
+        eventPublisher.publishEvent(new UserJoinedEvent(userId, user.getEmail()));
+        return userId;
+    }
+
+    static boolean isEmailDuplicate(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException cause
+                && cause.getConstraintName() != null
+                && cause.getConstraintName().toLowerCase(Locale.ROOT).contains(User.EMAIL_UNIQUE_CONSTRAINT);
     }
 
+    /**
+     * 캐시에 있으면 트랜잭션(커넥션) 없이 바로 반환한다. (SUPPORTS)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserResponseDto findById(Long userId) {
+        return userResponseCache.get(userId, id -> primaryStickiness.read(id, () -> loadUser(id)));
+    }
+
+    /**
+     * 단건은 projection으로 바꿔도 em.find와 할당이 비슷하고, QueryDSL이나 @Query로 실행하면 오히려 두 배 이상 많다.
+     * (ListingProjectionBenchmark 참고) findById는 자체 읽기 전용 트랜잭션이라 스냅샷도 만들지 않는다.
+     */
+    private UserResponseDto loadUser(Long userId) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(messageSource.getMessage("user.notFound", null, LocaleContextHolder.getLocale())));
+                .orElseThrow(() -> new UserNotFoundException());
 
         UserResponseDto responseDto = UserResponseDto.builder()
                 .userId(user.getId())
@@ -64,13 +126,59 @@ public class UserService {
         return responseDto;
     }
 
+    /**
+     * 조회 쿼리마다 자체 읽기 전용 트랜잭션에서 커넥션을 잠깐 쓰고 반납한다. (SUPPORTS)
+     * CountMode.CONCURRENT에서 요청 스레드가 커넥션을 잡은 채 count 스레드(커넥션 필요)를 기다리면
+     * 동시 요청이 커넥션 풀 크기를 넘을 때 서로 기다리다 멈춘다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserPageResponseDto findAll(UserSearchDto userSearchDto) {
-        List<UserResponseDto> users = userRepository.findUsers(userSearchDto).stream()
-                .map(UserResponseDto::new)
-                .collect(Collectors.toList());
+        if (userSearchDto.isCursorMode()) {
+            return findAllByCursor(userSearchDto);
+        }
+
+        CountMode countMode = Optional.ofNullable(userSearchDto.getCountMode()).orElse(CountMode.EXACT);
+        switch (countMode) {
+            case NONE:
+                return findAllWithoutCount(userSearchDto);
+            case CACHED:
+                Integer cachedCount = userCountService.cachedCount(userSearchDto);
+                if (cachedCount != null) {
+                    return toPageResponse(userSearchDto, userRepository.findUserResponses(userSearchDto), cachedCount, false);
+                }
+                break;
+            case CONCURRENT:
+                CompletableFuture<Integer> count = userCountService.countAsync(userSearchDto);
+                List<UserResponseDto> rows = userRepository.findUserResponses(userSearchDto);
+                return toPageResponse(userSearchDto, rows, joinCount(count), true);
+            default:
+                break;
+        }
+
+        List<UserResponseDto> rows = userRepository.findUserResponses(userSearchDto);
+        int totalRowCount = userCountService.count(userSearchDto);
+        return toPageResponse(userSearchDto, rows, totalRowCount, true);
+    }
+
+    /**
+     * count 쿼리 없이 limit + 1 개를 조회해서 다음 페이지 존재 여부만 판단한다.
+     * 다음 페이지가 있으면 totalRowCount는 하한값(현재 페이지까지 + 1)이다.
+     */
+    private UserPageResponseDto findAllWithoutCount(UserSearchDto userSearchDto) {
+        int limit = userSearchDto.getLimit(userSearchDto.getSize());
+        int offset = userSearchDto.getOffset(userSearchDto.getPage(), userSearchDto.getSize());
 
-        int totalRowCount = userRepository.findUsersCount(userSearchDto);
-        PagingRequest paging = PagingRequest.of(userSearchDto.getPage(), userSearchDto.getSize(), totalRowCount, 10);
+        List<UserResponseDto> rows = userRepository.findUserResponsesWithNextProbe(userSearchDto);
+        boolean hasNext = rows.size() > limit;
+        List<UserResponseDto> pageRows = hasNext ? rows.subList(0, limit) : rows;
+
+        int totalRowCount = offset + pageRows.size() + (hasNext ? 1 : 0);
+        boolean exactTotal = !hasNext && (!pageRows.isEmpty() || offset == 0);
+        return toPageResponse(userSearchDto, pageRows, totalRowCount, exactTotal);
+    }
+
+    private UserPageResponseDto toPageResponse(UserSearchDto userSearchDto, List<UserResponseDto> users, int totalRowCount, boolean exactTotal) {
+        PagingRequest paging = PagingRequest.of(userSearchDto.getPage(), userSearchDto.getSize(), totalRowCount, 10, exactTotal);
 
         UserPageResponseDto userPageResponseDto = UserPageResponseDto.builder()
                 .users(users)
@@ -80,26 +188,137 @@ public class UserService {
         return userPageResponseDto;
     }
 
-    @Transactional
-    public UserResponseDto login(LoginRequestDto requestDto, HttpServletRequest request) {
-        User user = userRepository.findByEmail(requestDto.getEmail())
-                .orElseThrow(() -> new UserNotFoundException(messageSource.getMessage("user.notFound", null, LocaleContextHolder.getLocale())));
-
-        if (passwordEncoder.matches(requestDto.getPassword(), user.getPassword())) {
-            // 세션이 있으면 기존 세션을 반환한다.
-            // 세션이 없으면 새로운 세션을 생성해서 반환한다.
-            HttpSession session = request.getSession();
-            session.setAttribute(SessionConst.LOGIN_USER, user);
+    private int joinCount(CompletableFuture<Integer> count) {
+        try {
+            return count.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 커서 기반 페이징
+     * - after: 커서보다 id가 작은(더 오래된) 회원을 id 내림차순으로 조회
+     * - before: 커서보다 id가 큰(더 최신) 회원을 조회한 뒤 id 내림차순으로 뒤집는다.
+     * limit + 1 개를 조회해서 반대편 페이지가 더 있는지 판단한다.
+     */
+    private UserPageResponseDto findAllByCursor(UserSearchDto userSearchDto) {
+        Long afterId = decodeCursor(userSearchDto.getAfter());
+        Long beforeId = decodeCursor(userSearchDto.getBefore());
+        if (afterId != null && beforeId != null) {
+            throw new InvalidCursorException();
+        }
+
+        int limit = userSearchDto.getLimit(userSearchDto.getSize());
+        List<UserResponseDto> rows = userRepository.findUserResponsesByCursor(userSearchDto, afterId, beforeId);
+        boolean hasMore = rows.size() > limit;
+
+        List<UserResponseDto> users = new ArrayList<>(hasMore ? rows.subList(0, limit) : rows);
+        boolean backward = beforeId != null;
+        if (backward) {
+            Collections.reverse(users);
+        }
+
+        String prevCursor = null;
+        String nextCursor = null;
+        if (!users.isEmpty()) {
+            boolean hasPrev = backward ? hasMore : afterId != null;
+            boolean hasNext = backward || hasMore;
+            prevCursor = hasPrev ? PagingCursor.encode(users.get(0).getUserId()) : null;
+            nextCursor = hasNext ? PagingCursor.encode(users.get(users.size() - 1).getUserId()) : null;
+        }
+
+        return UserPageResponseDto.builder()
+                .users(users)
+                .paging(PagingRequest.ofCursor(userSearchDto.getSize(), prevCursor, nextCursor))
+                .build();
+    }
+
+    private Long decodeCursor(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+
+        try {
+            return PagingCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    /**
+     * 로그인은 쓰기 작업이 없으므로 트랜잭션을 열지 않는다. (SUPPORTS)
+     * 회원 조회는 자체 읽기 전용 트랜잭션에서 실행되고 끝나면 커넥션을 반납하므로,
+     * BCrypt 검증(PasswordHasher 전용 스레드 풀)을 기다리는 동안 DB 커넥션을 잡고 있지 않는다.
+     * IP, 이메일별 시도 횟수를 넘으면 회원 조회 전에 429로 거절한다. (LoginRateLimiter)
+     * 가입된 적이 없는 이메일은 회원 조회 없이 거절한다. (RegisteredEmailFilter)
+     * 마지막 로그인 시각, 횟수는 update 하지 않고 UserLoginTracker에 남긴다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public UserResponseDto login(LoginRequestDto requestDto, HttpServletRequest request, HttpServletResponse response) {
+        loginRateLimiter.check(requestDto.getEmail(), request.getRemoteAddr());
+        if (!registeredEmailFilter.mightExist(requestDto.getEmail())) {
+            eventLogger.info(log, "login.fail", "reason", "unknownEmail");
+            throw new UserNotFoundException();
+        }
+
+        Optional<User> found = findByEmail(requestDto.getEmail());
+        if (found.isEmpty()) {
+            eventLogger.info(log, "login.fail", "reason", "notFound");
+            throw new UserNotFoundException();
+        }
+
+        User user = found.get();
+        if (passwordHasher.matches(requestDto.getPassword(), user.getPassword())) {
+            rehashIfNeeded(user, requestDto.getPassword());
+
+            // 세션(또는 토큰)에는 엔티티 대신 id와 권한만 저장한다.
+            loginManager.login(LoginUser.of(user), request, response);
+            userLoginTracker.record(user.getId());
+            eventLogger.info(log, "login.success", "userId", user.getId());
             return new UserResponseDto(user);
         }
-        throw new LoginFailException(messageSource.getMessage("login.fail", null, LocaleContextHolder.getLocale()));
+        eventLogger.info(log, "login.fail", "userId", user.getId(), "reason", "password");
+        throw new LoginFailException();
     }
 
-    @Transactional
-    public void logout(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session != null) {
-            session.invalidate();
+    /**
+     * emailHash 인덱스로 찾는다. backfill이 끝나기 전에는 hash가 없는 회원일 수 있으므로 못 찾으면 이메일 인덱스로 다시 찾는다.
+     */
+    private Optional<User> findByEmail(String email) {
+        String normalizedEmail = User.normalizeEmail(email);
+        return primaryStickiness.read(normalizedEmail, () -> {
+            Optional<User> found = userRepository.findByHashedEmail(normalizedEmail);
+            if (found.isEmpty() && !userEmailHashBackfill.isCompleted()) {
+                return userRepository.findByNormalizedEmail(normalizedEmail);
+            }
+            return found;
+        });
+    }
+
+    /**
+     * 예전 알고리즘이나 현재보다 낮은 비용으로 만든 해시는 로그인에 성공했을 때(평문을 알고 있을 때) 다시 해시한다.
+     * 해시 풀이 바쁘면 로그인은 그대로 성공시키고 다음 로그인에서 다시 시도한다.
+     */
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHasher.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+
+        try {
+            user.hashPassword(passwordHasher.encode(rawPassword));
+        } catch (TooManyRequestsException e) {
+            return;
         }
+        userRepository.updatePassword(user.getId(), user.getPassword());
+        eventPublisher.publishEvent(new UserUpdatedEvent(user.getId()));
+    }
+
+    @Transactional
+    public void logout(HttpServletRequest request, HttpServletResponse response) {
+        loginManager.logout(request, response);
     }
 }
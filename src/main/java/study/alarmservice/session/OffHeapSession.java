@@ -0,0 +1,122 @@
+package study.alarmservice.session;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpSession;
+import study.alarmservice.constant.SessionConst;
+import study.alarmservice.domain.LoginUser;
+
+import java.util.Collections;
+import java.util.Enumeration;
+
+/**
+ * OffHeapSessionStore 슬롯을 HttpSession으로 보여주는 view
+ * 슬롯에는 로그인 사용자(id, 권한)만 저장되므로 SessionConst.LOGIN_USER 외의 속성은 저장할 수 없다.
+ */
+public class OffHeapSession implements HttpSession {
+
+    private final OffHeapSessionStore store;
+    private final String id;
+    private final ServletContext servletContext;
+    private final boolean isNew;
+    private final Runnable onInvalidate;
+    private boolean invalidated;
+
+    OffHeapSession(OffHeapSessionStore store, String id, ServletContext servletContext, boolean isNew, Runnable onInvalidate) {
+        this.store = store;
+        this.id = id;
+        this.servletContext = servletContext;
+        this.isNew = isNew;
+        this.onInvalidate = onInvalidate;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        checkValid();
+        return SessionConst.LOGIN_USER.equals(name) ? store.getLoginUser(id) : null;
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        checkValid();
+        return store.getLoginUser(id) == null
+                ? Collections.emptyEnumeration()
+                : Collections.enumeration(Collections.singletonList(SessionConst.LOGIN_USER));
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        checkValid();
+        if (value == null) {
+            removeAttribute(name);
+            return;
+        }
+        if (!SessionConst.LOGIN_USER.equals(name) || !(value instanceof LoginUser loginUser)) {
+            throw new IllegalArgumentException("Off-heap session only stores " + SessionConst.LOGIN_USER + " as LoginUser: " + name);
+        }
+        store.setLoginUser(id, loginUser);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        checkValid();
+        if (SessionConst.LOGIN_USER.equals(name)) {
+            store.setLoginUser(id, null);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        checkValid();
+        invalidated = true;
+        store.remove(id);
+        onInvalidate.run();
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        checkValid();
+        return isNew;
+    }
+
+    /**
+     * 슬롯에는 생성/접근 시각을 따로 저장하지 않는다.
+     */
+    @Override
+    public long getCreationTime() {
+        checkValid();
+        return 0L;
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        return 0L;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return servletContext;
+    }
+
+    /**
+     * TTL은 저장소 전체 설정(app.session.offheap.ttl)을 따른다.
+     */
+    @Override
+    public void setMaxInactiveInterval(int interval) {
+    }
+
+    @Override
+    public int getMaxInactiveInterval() {
+        return (int) (store.getTtlMillis() / 1000);
+    }
+
+    private void checkValid() {
+        if (invalidated) {
+            throw new IllegalStateException("Session already invalidated: " + id);
+        }
+    }
+}
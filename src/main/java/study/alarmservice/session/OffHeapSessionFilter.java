@@ -0,0 +1,133 @@
+package study.alarmservice.session;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.filter.OncePerRequestFilter;
+import study.alarmservice.constant.SessionConst;
+import study.alarmservice.exception.TooManyRequestsException;
+
+import java.io.IOException;
+
+/**
+ * request.getSession()이 Tomcat 세션 대신 OffHeapSessionStore를 사용하도록 요청을 감싼다.
+ * 세션 id는 SESSION_COOKIE 쿠키로 주고받는다.
+ */
+public class OffHeapSessionFilter extends OncePerRequestFilter {
+
+    public static final String SESSION_COOKIE = "SID";
+
+    private final OffHeapSessionStore store;
+
+    public OffHeapSessionFilter(OffHeapSessionStore store) {
+        this.store = store;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(new SessionRequest(request, response), response);
+    }
+
+    private class SessionRequest extends HttpServletRequestWrapper {
+
+        private final HttpServletResponse response;
+        private final String requestedSessionId;
+        private OffHeapSession session;
+        private boolean resolved;
+
+        SessionRequest(HttpServletRequest request, HttpServletResponse response) {
+            super(request);
+            this.response = response;
+            this.requestedSessionId = readCookie(request);
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            if (!resolved) {
+                resolved = true;
+                if (store.touch(requestedSessionId)) {
+                    session = new OffHeapSession(store, requestedSessionId, getServletContext(), false, this::invalidated);
+                }
+            }
+            if (session == null && create) {
+                String id = store.create();
+                if (id == null) {
+                    throw new TooManyRequestsException();
+                }
+                session = new OffHeapSession(store, id, getServletContext(), true, this::invalidated);
+                writeCookie(id, -1);
+            }
+            return session;
+        }
+
+        @Override
+        public String getRequestedSessionId() {
+            return requestedSessionId;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdValid() {
+            return requestedSessionId != null && store.touch(requestedSessionId);
+        }
+
+        @Override
+        public boolean isRequestedSessionIdFromCookie() {
+            return requestedSessionId != null;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdFromURL() {
+            return false;
+        }
+
+        @Override
+        public String changeSessionId() {
+            HttpSession current = getSession(false);
+            if (current == null) {
+                throw new IllegalStateException("No session to change id");
+            }
+            Object loginUser = current.getAttribute(SessionConst.LOGIN_USER);
+            current.invalidate();
+            HttpSession changed = getSession(true);
+            if (loginUser != null) {
+                changed.setAttribute(SessionConst.LOGIN_USER, loginUser);
+            }
+            return changed.getId();
+        }
+
+        private void invalidated() {
+            session = null;
+            writeCookie("", 0);
+        }
+
+        private void writeCookie(String value, int maxAge) {
+            Cookie cookie = new Cookie(SESSION_COOKIE, value);
+            cookie.setHttpOnly(true);
+            cookie.setPath("/");
+            cookie.setMaxAge(maxAge);
+            response.addCookie(cookie);
+        }
+    }
+
+    private static String readCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (SESSION_COOKIE.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+}
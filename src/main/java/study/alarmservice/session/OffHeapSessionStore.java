@@ -0,0 +1,291 @@
+package study.alarmservice.session;
+
+import study.alarmservice.domain.LoginUser;
+import study.alarmservice.domain.Role;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 로그인 세션을 힙 밖(direct ByteBuffer)의 고정 크기 슬롯에 저장한다.
+ * 세션 하나는 40byte이고 힙에는 세션 객체가 남지 않으므로 동시 세션이 많아도 GC 대상이 늘지 않는다.
+ *
+ * 슬롯: generation(4) + role(1) + padding(3) + userId(8) + expiresAt(8) + nonce(16)
+ * 세션 id: base64url(slot(4) + generation(4) + nonce(16))
+ * 슬롯을 다시 쓰면 generation이 바뀌므로 이전 세션 id는 더 이상 맞지 않는다.
+ */
+public class OffHeapSessionStore {
+
+    static final int SLOT_SIZE = 40;
+    private static final int GENERATION = 0;
+    private static final int ROLE = 4;
+    private static final int USER_ID = 8;
+    private static final int EXPIRES_AT = 16;
+    private static final int NONCE = 24;
+    private static final int ID_BYTES = 24;
+    private static final int ID_CHARS = 32;
+    private static final byte NO_ROLE = -1;
+    private static final int LOCK_STRIPES = 64;
+    private static final Role[] ROLES = Role.values();
+
+    private final ByteBuffer slab;
+    private final int capacity;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    // 빈 슬롯 번호 스택
+    private final ReentrantLock freeLock = new ReentrantLock();
+    private final int[] freeSlots;
+    private int freeCount;
+
+    public OffHeapSessionStore(int capacity, Duration ttl, Clock clock) {
+        this.slab = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+        this.capacity = capacity;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.freeSlots = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            freeSlots[i] = capacity - 1 - i;
+        }
+        this.freeCount = capacity;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * @return 새 세션 id, 빈 슬롯이 없으면 null
+     */
+    public String create() {
+        int slot = popFreeSlot();
+        if (slot < 0) {
+            return null;
+        }
+
+        byte[] nonce = new byte[16];
+        random.nextBytes(nonce);
+
+        int offset = slot * SLOT_SIZE;
+        int generation;
+        ReentrantLock lock = lockFor(slot);
+        lock.lock();
+        try {
+            generation = slab.getInt(offset + GENERATION);
+            slab.put(offset + ROLE, NO_ROLE);
+            slab.putLong(offset + USER_ID, 0L);
+            slab.putLong(offset + EXPIRES_AT, clock.millis() + ttlMillis);
+            slab.put(offset + NONCE, nonce);
+        } finally {
+            lock.unlock();
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ByteBuffer.allocate(ID_BYTES).putInt(slot).putInt(generation).put(nonce).array());
+    }
+
+    /**
+     * 세션이 유효하면 만료 시각을 연장한다. (sliding TTL)
+     */
+    public boolean touch(String sessionId) {
+        Key key = Key.parse(sessionId, capacity);
+        if (key == null) {
+            return false;
+        }
+
+        ReentrantLock lock = lockFor(key.slot);
+        lock.lock();
+        try {
+            return renew(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 슬롯의 원시 값(userId, role)만 읽어서 LoginUser를 만든다. (역직렬화 없음)
+     * @return 세션이 없거나 로그인하지 않은 세션이면 null
+     */
+    public LoginUser getLoginUser(String sessionId) {
+        Key key = Key.parse(sessionId, capacity);
+        if (key == null) {
+            return null;
+        }
+
+        int offset = key.slot * SLOT_SIZE;
+        ReentrantLock lock = lockFor(key.slot);
+        lock.lock();
+        try {
+            if (!renew(key)) {
+                return null;
+            }
+            byte role = slab.get(offset + ROLE);
+            return role == NO_ROLE ? null : new LoginUser(slab.getLong(offset + USER_ID), ROLES[role]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param loginUser null이면 로그인 정보만 지운다.
+     */
+    public boolean setLoginUser(String sessionId, LoginUser loginUser) {
+        Key key = Key.parse(sessionId, capacity);
+        if (key == null) {
+            return false;
+        }
+
+        int offset = key.slot * SLOT_SIZE;
+        ReentrantLock lock = lockFor(key.slot);
+        lock.lock();
+        try {
+            if (!renew(key)) {
+                return false;
+            }
+            slab.put(offset + ROLE, loginUser == null ? NO_ROLE : (byte) loginUser.getRole().ordinal());
+            slab.putLong(offset + USER_ID, loginUser == null ? 0L : loginUser.getUserId());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(String sessionId) {
+        Key key = Key.parse(sessionId, capacity);
+        if (key == null) {
+            return;
+        }
+
+        ReentrantLock lock = lockFor(key.slot);
+        lock.lock();
+        try {
+            if (!matches(key)) {
+                return;
+            }
+            free(key.slot * SLOT_SIZE);
+        } finally {
+            lock.unlock();
+        }
+        pushFreeSlot(key.slot);
+    }
+
+    /**
+     * 만료된 슬롯을 비운다.
+     * @return 비운 슬롯 수
+     */
+    public int evictExpired() {
+        long now = clock.millis();
+        int evicted = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            int offset = slot * SLOT_SIZE;
+            ReentrantLock lock = lockFor(slot);
+            lock.lock();
+            try {
+                long expiresAt = slab.getLong(offset + EXPIRES_AT);
+                if (expiresAt == 0 || expiresAt > now) {
+                    continue;
+                }
+                free(offset);
+            } finally {
+                lock.unlock();
+            }
+            pushFreeSlot(slot);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    public int size() {
+        freeLock.lock();
+        try {
+            return capacity - freeCount;
+        } finally {
+            freeLock.unlock();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getSlabBytes() {
+        return (long) capacity * SLOT_SIZE;
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    private boolean renew(Key key) {
+        int offset = key.slot * SLOT_SIZE;
+        long now = clock.millis();
+        if (!matches(key) || slab.getLong(offset + EXPIRES_AT) <= now) {
+            return false;
+        }
+        slab.putLong(offset + EXPIRES_AT, now + ttlMillis);
+        return true;
+    }
+
+    private boolean matches(Key key) {
+        int offset = key.slot * SLOT_SIZE;
+        return slab.getLong(offset + EXPIRES_AT) != 0
+                && slab.getInt(offset + GENERATION) == key.generation
+                && slab.getLong(offset + NONCE) == key.nonceHigh
+                && slab.getLong(offset + NONCE + Long.BYTES) == key.nonceLow;
+    }
+
+    private void free(int offset) {
+        slab.putInt(offset + GENERATION, slab.getInt(offset + GENERATION) + 1);
+        slab.putLong(offset + EXPIRES_AT, 0L);
+        slab.putLong(offset + USER_ID, 0L);
+        slab.put(offset + ROLE, NO_ROLE);
+    }
+
+    private ReentrantLock lockFor(int slot) {
+        return locks[slot & (LOCK_STRIPES - 1)];
+    }
+
+    private int popFreeSlot() {
+        freeLock.lock();
+        try {
+            return freeCount == 0 ? -1 : freeSlots[--freeCount];
+        } finally {
+            freeLock.unlock();
+        }
+    }
+
+    private void pushFreeSlot(int slot) {
+        freeLock.lock();
+        try {
+            freeSlots[freeCount++] = slot;
+        } finally {
+            freeLock.unlock();
+        }
+    }
+
+    private record Key(int slot, int generation, long nonceHigh, long nonceLow) {
+
+        static Key parse(String sessionId, int capacity) {
+            if (sessionId == null || sessionId.length() != ID_CHARS) {
+                return null;
+            }
+
+            ByteBuffer buffer;
+            try {
+                buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(sessionId));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            int slot = buffer.getInt();
+            if (slot < 0 || slot >= capacity) {
+                return null;
+            }
+            return new Key(slot, buffer.getInt(), buffer.getLong(), buffer.getLong());
+        }
+    }
+}
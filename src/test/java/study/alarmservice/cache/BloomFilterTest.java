@@ -0,0 +1,46 @@
+package study.alarmservice.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("추가한 값은 항상 있다고 판단하고, 없는 값의 오판 비율은 fpp 근처")
+    void no_false_negative() {
+        // given
+        BloomFilter bloomFilter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            bloomFilter.add("user" + i + "@gmail.com");
+        }
+
+        // when
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (bloomFilter.mightContain("unknown" + i + "@gmail.com")) {
+                falsePositives++;
+            }
+        }
+
+        // then
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(bloomFilter.mightContain("user" + i + "@gmail.com")).isTrue();
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.015);
+        assertThat(bloomFilter.falsePositiveRate()).isBetween(0.005, 0.015);
+        assertThat(bloomFilter.getHashCount()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("5천만 건, fpp 1%면 약 57MiB")
+    void memory_budget() {
+        // given
+        BloomFilter bloomFilter = new BloomFilter(50_000_000, 0.01);
+
+        // expected
+        assertThat(bloomFilter.getMemoryBytes()).isBetween(59_000_000L, 61_000_000L);
+        assertThat(bloomFilter.falsePositiveRate()).isZero();
+    }
+}
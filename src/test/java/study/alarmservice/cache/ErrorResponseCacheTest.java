@@ -0,0 +1,63 @@
+package study.alarmservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import study.alarmservice.dto.response.ErrorResponseDto;
+import study.alarmservice.exception.LoginFailException;
+import study.alarmservice.exception.UserNotFoundException;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ErrorResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("messageKey, locale별로 한 번 직렬화한 본문을 재사용")
+    void get_cached() throws Exception {
+        // given
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("user.notFound", Locale.KOREA, "회원 없음");
+        messageSource.addMessage("user.notFound", Locale.ENGLISH, "not found");
+        ErrorResponseCache cache = new ErrorResponseCache(messageSource, objectMapper);
+
+        // when
+        byte[] korean = cache.get(new UserNotFoundException(), Locale.KOREA);
+        byte[] english = cache.get(new UserNotFoundException(), Locale.ENGLISH);
+
+        // then
+        assertThat(cache.get(new UserNotFoundException(), Locale.KOREA)).isSameAs(korean);
+        assertThat(new String(korean, "UTF-8"))
+                .isEqualTo(objectMapper.writeValueAsString(ErrorResponseDto.builder().code(404).message("회원 없음").build()));
+        assertThat(new String(english, "UTF-8")).contains("\"message\":\"not found\"");
+    }
+
+    @Test
+    @DisplayName("메시지를 넘겨 생성한 예외는 그 메시지로 응답")
+    void get_resolved_message() throws Exception {
+        // given
+        ErrorResponseCache cache = new ErrorResponseCache(new StaticMessageSource(), objectMapper);
+
+        // when
+        byte[] body = cache.get(new LoginFailException("직접 넘긴 메시지"), Locale.KOREA);
+
+        // then
+        assertThat(new String(body, "UTF-8")).isEqualTo("{\"code\":401,\"message\":\"직접 넘긴 메시지\",\"validation\":[]}");
+    }
+
+    @Test
+    @DisplayName("stack trace를 만들지 않고, 메시지가 없으면 messageKey를 메시지로 사용")
+    void stackless() {
+        // when
+        UserNotFoundException e = new UserNotFoundException();
+
+        // then
+        assertThat(e.getStackTrace()).isEmpty();
+        assertThat(e.getMessage()).isEqualTo("user.notFound");
+        assertThat(e.getResolvedMessage()).isNull();
+    }
+}
@@ -0,0 +1,137 @@
+package study.alarmservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import study.alarmservice.constant.SessionConst;
+import study.alarmservice.controller.UserApiController;
+import study.alarmservice.domain.LoginUser;
+import study.alarmservice.domain.Role;
+import study.alarmservice.domain.User;
+import study.alarmservice.dto.request.LoginRequestDto;
+import study.alarmservice.dto.request.UserCreateRequestDto;
+import study.alarmservice.metrics.MetricsRegistry;
+import study.alarmservice.metrics.SqlCounters;
+import study.alarmservice.repository.UserRepository;
+import study.alarmservice.service.UserService;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.http.MediaType.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "app.email-filter.enabled=true")
+class RegisteredEmailFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    /**
+     * 시작할 때 백그라운드에서 만드는 중이면 끝날 때까지 기다렸다가 다시 만든다.
+     */
+    @BeforeEach
+    void rebuild() throws InterruptedException {
+        for (int i = 0; i < 100 && !registeredEmailFilter.rebuild(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(registeredEmailFilter.getStats().isReady()).isTrue();
+    }
+
+    @Test
+    @DisplayName("가입된 적이 없는 이메일로 로그인하면 회원 조회 없이 404")
+    void login_unknown_email() throws Exception {
+        // given
+        String content = objectMapper.writeValueAsString(LoginRequestDto.builder()
+                .email("unknown@gmail.com")
+                .password("abcd1234!")
+                .build());
+        SqlCounters sqlCounters = metricsRegistry.sql(UserApiController.class.getMethod("login",
+                LoginRequestDto.class, HttpServletRequest.class, HttpServletResponse.class));
+        long statements = sqlCounters.getStatements();
+        long rejected = registeredEmailFilter.getStats().getRejectedCount();
+
+        // expected
+        mockMvc.perform(post("/api/v1/login").contentType(APPLICATION_JSON).content(content))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value(404));
+        assertThat(sqlCounters.getStatements()).isEqualTo(statements);
+        assertThat(registeredEmailFilter.getStats().getRejectedCount()).isEqualTo(rejected + 1);
+    }
+
+    @Test
+    @DisplayName("가입하면 커밋 전에 바로 필터에 추가")
+    void join() {
+        // given
+        UserCreateRequestDto requestDto = UserCreateRequestDto.builder()
+                .email("joined@gmail.com")
+                .password("abcd1234!")
+                .build();
+        assertThat(registeredEmailFilter.mightExist("joined@gmail.com")).isFalse();
+
+        // when
+        userService.join(requestDto);
+
+        // then
+        assertThat(registeredEmailFilter.mightExist("joined@gmail.com")).isTrue();
+        assertThat(registeredEmailFilter.mightExist("Joined@Gmail.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("가입을 거치지 않고 저장된 회원은 rebuild 이후에 필터를 통과")
+    void rebuild_includes_saved_users() {
+        // given
+        userRepository.save(User.builder()
+                .email("saved@gmail.com")
+                .password("12345")
+                .role(Role.GUEST)
+                .build());
+        assertThat(registeredEmailFilter.mightExist("saved@gmail.com")).isFalse();
+
+        // when
+        boolean rebuilt = registeredEmailFilter.rebuild();
+
+        // then
+        assertThat(rebuilt).isTrue();
+        assertThat(registeredEmailFilter.mightExist("saved@gmail.com")).isTrue();
+        assertThat(registeredEmailFilter.getStats().getHashCount()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("필터 재생성은 어드민만 호출할 수 있다.")
+    void rebuild_admin_only() throws Exception {
+        // expected
+        mockMvc.perform(post("/api/v1/metrics/email-filter/rebuild")
+                        .sessionAttr(SessionConst.LOGIN_USER, new LoginUser(1L, Role.GUEST)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.code").value(403));
+        mockMvc.perform(post("/api/v1/metrics/email-filter/rebuild")
+                        .sessionAttr(SessionConst.LOGIN_USER, new LoginUser(1L, Role.ADMIN)))
+                .andExpect(status().is(anyOf(is(202), is(409))));
+    }
+}
@@ -0,0 +1,59 @@
+package study.alarmservice.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import study.alarmservice.datasource.PrimaryStickiness;
+import study.alarmservice.event.UserJoinedEvent;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UserCountCacheTest {
+
+    private final UserCountCache cache = new UserCountCache(new PrimaryStickiness(false, Duration.ofSeconds(5), 100), Duration.ofMinutes(5));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("적재 후에는 회원가입 커밋마다 1씩 증가")
+    void increment_on_join() {
+        // given
+        cache.get(() -> {
+            loads.incrementAndGet();
+            return 10;
+        });
+
+        // when
+        cache.onUserJoined(new UserJoinedEvent(1L, "user1@gmail.com"));
+
+        // then
+        assertThat(cache.get(() -> {
+            loads.incrementAndGet();
+            return 0;
+        })).isEqualTo(11);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("count 쿼리 중에 가입이 커밋되면 그 결과는 저장하지 않고 다음 조회에서 다시 센다.")
+    void discard_count_raced_with_join() {
+        // given
+        long raced = cache.get(() -> {
+            loads.incrementAndGet();
+            cache.onUserJoined(new UserJoinedEvent(1L, "user1@gmail.com"));
+            return 10;
+        });
+
+        // when
+        long recounted = cache.get(() -> {
+            loads.incrementAndGet();
+            return 11;
+        });
+
+        // then
+        assertThat(raced).isEqualTo(10);
+        assertThat(recounted).isEqualTo(11);
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,99 @@
+package study.alarmservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import study.alarmservice.datasource.PrimaryStickiness;
+import study.alarmservice.dto.request.PagingMode;
+import study.alarmservice.dto.request.PagingRequest;
+import study.alarmservice.dto.request.UserSearchDto;
+import study.alarmservice.dto.response.UserPageResponseDto;
+import study.alarmservice.dto.response.UserResponseDto;
+import study.alarmservice.event.UserJoinedEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UserPageCacheTest {
+
+    private final PrimaryStickiness primaryStickiness = new PrimaryStickiness(false, Duration.ofSeconds(5), 100);
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<UserPageResponseDto> loader = () -> {
+        loads.incrementAndGet();
+        return UserPageResponseDto.builder()
+                .users(List.of(new UserResponseDto(1L, "user1@gmail.com")))
+                .paging(PagingRequest.of(1, 10, 1, 10))
+                .build();
+    };
+
+    @Test
+    @DisplayName("같은 검색 조건은 직렬화된 페이지 재사용, 회원가입 후에는 다시 조회")
+    void get_cached_until_version_changed() {
+        // given
+        UserPageCache cache = new UserPageCache(new ObjectMapper(), primaryStickiness, 100, Duration.ofMinutes(1));
+        UserSearchDto userSearchDto = UserSearchDto.builder().page(1).size(10).build();
+
+        // when
+        UserPageCache.CachedPage first = cache.get(userSearchDto, loader);
+        UserPageCache.CachedPage second = cache.get(userSearchDto, loader);
+        cache.onUserJoined(new UserJoinedEvent(2L, "user2@gmail.com"));
+        UserPageCache.CachedPage third = cache.get(userSearchDto, loader);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(third).isNotSameAs(first);
+        assertThat(third.getEtag()).isEqualTo(first.getEtag());
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("조회 중에 회원가입이 커밋되면 그 페이지는 저장하지 않고, 더 새 버전의 페이지를 덮어쓰지 않음")
+    void not_stored_when_version_changed_while_loading() {
+        // given
+        UserPageCache cache = new UserPageCache(new ObjectMapper(), primaryStickiness, 100, Duration.ofMinutes(1));
+        UserSearchDto userSearchDto = UserSearchDto.builder().page(1).size(10).build();
+        AtomicReference<UserPageCache.CachedPage> newer = new AtomicReference<>();
+        Supplier<UserPageResponseDto> slowLoader = () -> {
+            UserPageResponseDto responseDto = loader.get();
+            cache.onUserJoined(new UserJoinedEvent(2L, "user2@gmail.com"));
+            newer.set(cache.get(userSearchDto, loader));
+            return responseDto;
+        };
+
+        // when
+        UserPageCache.CachedPage stale = cache.get(userSearchDto, slowLoader);
+        UserPageCache.CachedPage cached = cache.get(userSearchDto, loader);
+
+        // then
+        assertThat(stale.getVersion()).isLessThan(cached.getVersion());
+        assertThat(cached).isSameAs(newer.get());
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("검색 조건이 다르거나 커서 페이징이면 캐시하지 않음")
+    void not_shared_between_conditions() {
+        // given
+        UserPageCache cache = new UserPageCache(new ObjectMapper(), primaryStickiness, 100, Duration.ofMinutes(1));
+        UserSearchDto page1 = UserSearchDto.builder().page(1).size(10).build();
+        UserSearchDto search = UserSearchDto.builder().page(1).size(10).build();
+        search.setSearchEmail("user");
+        UserSearchDto cursor = UserSearchDto.builder().page(1).size(10).build();
+        cursor.setMode(PagingMode.CURSOR);
+
+        // when
+        cache.get(page1, loader);
+        cache.get(search, loader);
+        cache.get(cursor, loader);
+        cache.get(cursor, loader);
+
+        // then
+        assertThat(loads.get()).isEqualTo(4);
+    }
+}
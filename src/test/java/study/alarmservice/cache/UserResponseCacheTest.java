@@ -0,0 +1,112 @@
+package study.alarmservice.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import study.alarmservice.dto.response.UserCacheStatsDto;
+import study.alarmservice.dto.response.UserResponseDto;
+import study.alarmservice.event.UserJoinedEvent;
+import study.alarmservice.event.UserUpdatedEvent;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UserResponseCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Long, UserResponseDto> loader = id -> {
+        loads.incrementAndGet();
+        return new UserResponseDto(id, "user" + id + "@gmail.com");
+    };
+
+    @Test
+    @DisplayName("같은 id는 한 번만 조회하고 항목별 조회 수 기록")
+    void get_cached() {
+        // given
+        UserResponseCache cache = new UserResponseCache(100, Duration.ofMinutes(10));
+
+        // when
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+        UserCacheStatsDto stats = cache.getStats();
+
+        // then
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(stats.getHitCount()).isEqualTo(2);
+        assertThat(stats.getMissCount()).isEqualTo(2);
+        assertThat(stats.getHotEntries().get(0).getUserId()).isEqualTo(1L);
+        assertThat(stats.getHotEntries().get(0).getHits()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("회원가입/변경 이벤트가 오면 해당 항목 무효화")
+    void invalidate_on_event() {
+        // given
+        UserResponseCache cache = new UserResponseCache(100, Duration.ofMinutes(10));
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+
+        // when
+        cache.onUserUpdated(new UserUpdatedEvent(1L));
+        cache.onUserJoined(new UserJoinedEvent(2L, "user2@gmail.com"));
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+
+        // then
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("조회 실패(예외)는 캐시하지 않음")
+    void not_cache_exception() {
+        // given
+        UserResponseCache cache = new UserResponseCache(100, Duration.ofMinutes(10));
+
+        // expected
+        assertThatThrownBy(() -> cache.get(1L, id -> {
+            throw new IllegalArgumentException("not found");
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThat(cache.get(1L, loader).getEmail()).isEqualTo("user1@gmail.com");
+    }
+
+    @Test
+    @DisplayName("같은 id를 동시에 조회하면 loader는 한 번만 실행 (loader는 캐시 lock 밖에서 실행)")
+    void load_once_concurrently() throws Exception {
+        // given
+        UserResponseCache cache = new UserResponseCache(100, Duration.ofMinutes(10));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, UserResponseDto> slowLoader = id -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.apply(id);
+        };
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // when
+            Future<UserResponseDto> first = executor.submit(() -> cache.get(1L, slowLoader));
+            loading.await(5, TimeUnit.SECONDS);
+            Future<UserResponseDto> second = executor.submit(() -> cache.get(1L, slowLoader));
+            UserResponseDto other = cache.get(2L, loader);
+            release.countDown();
+
+            // then
+            assertThat(other.getUserId()).isEqualTo(2L);
+            assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(second.get(5, TimeUnit.SECONDS));
+            assertThat(loads.get()).isEqualTo(2);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package study.alarmservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import study.alarmservice.dto.request.LoginRequestDto;
+import study.alarmservice.dto.request.UserCreateRequestDto;
+import study.alarmservice.service.UserService;
+import study.alarmservice.session.OffHeapSessionFilter;
+import study.alarmservice.session.OffHeapSessionStore;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.http.MediaType.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "app.session.store=offheap")
+class OffHeapSessionApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OffHeapSessionStore offHeapSessionStore;
+
+    @Test
+    @DisplayName("off-heap 세션 - 로그인, 인증, 로그아웃")
+    void login_and_logout() throws Exception {
+        // given
+        String email = "azurealstn33@gmail.com";
+        String password = "abcd1234!";
+
+        Long savedId = userService.join(UserCreateRequestDto.builder()
+                .email(email)
+                .password(password)
+                .build());
+
+        String content = objectMapper.writeValueAsString(LoginRequestDto.builder()
+                .email(email)
+                .password(password)
+                .build());
+
+        // when
+        Cookie sessionCookie = mockMvc.perform(post("/api/v1/login")
+                        .contentType(APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isOk())
+                .andExpect(cookie().httpOnly(OffHeapSessionFilter.SESSION_COOKIE, true))
+                .andDo(print())
+                .andReturn().getResponse().getCookie(OffHeapSessionFilter.SESSION_COOKIE);
+
+        // then
+        assertThat(offHeapSessionStore.getLoginUser(sessionCookie.getValue()).getUserId()).isEqualTo(savedId);
+
+        mockMvc.perform(get("/api/v1/metrics/password-hash")
+                        .cookie(sessionCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.poolSize").exists())
+                .andDo(print());
+
+        mockMvc.perform(post("/api/v1/logout")
+                        .cookie(sessionCookie))
+                .andExpect(status().isOk())
+                .andExpect(cookie().maxAge(OffHeapSessionFilter.SESSION_COOKIE, 0))
+                .andDo(print());
+
+        assertThat(offHeapSessionStore.touch(sessionCookie.getValue())).isFalse();
+        mockMvc.perform(get("/api/v1/metrics/password-hash")
+                        .cookie(sessionCookie))
+                .andExpect(content().string(""))
+                .andDo(print());
+    }
+}
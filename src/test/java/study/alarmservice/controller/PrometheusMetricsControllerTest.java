@@ -0,0 +1,52 @@
+package study.alarmservice.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest
+class PrometheusMetricsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("핸들러, 예외, 리포지토리 메서드별 지연 시간과 SQL 수치를 Prometheus 형식으로 조회")
+    void scrape() throws Exception {
+        // given
+        mockMvc.perform(get("/api/v1/users").param("page", "1").param("size", "10"));
+        mockMvc.perform(get("/api/v1/users/{userId}", Long.MAX_VALUE));
+
+        // expected
+        mockMvc.perform(get("/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/plain"))
+                .andExpect(content().string(containsString("# TYPE alarm_http_server_requests_seconds histogram")))
+                .andExpect(content().string(containsString("alarm_http_server_requests_seconds_count{handler=\"UserApiController.findAll\"}")))
+                .andExpect(content().string(containsString("alarm_http_server_exceptions_seconds_count{exception=\"UserNotFoundException\"}")))
+                .andExpect(content().string(containsString("alarm_repository_seconds_bucket{method=\"UserRepository.findUserResponses\",le=\"+Inf\"}")))
+                .andExpect(content().string(containsString("alarm_repository_seconds_count{method=\"UserRepository.findById\"}")))
+                .andExpect(content().string(containsString("alarm_http_server_sql_statements_total{handler=\"UserApiController.findAll\"}")));
+    }
+
+    @Test
+    @DisplayName("다른 호스트에서 호출하면 404")
+    void scrape_remote() throws Exception {
+        // expected
+        mockMvc.perform(get("/metrics").with(request -> {
+                    request.setRemoteAddr("10.0.0.1");
+                    return request;
+                }))
+                .andExpect(status().isNotFound());
+    }
+}
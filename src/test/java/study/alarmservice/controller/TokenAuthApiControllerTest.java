@@ -0,0 +1,86 @@
+package study.alarmservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import study.alarmservice.dto.request.LoginRequestDto;
+import study.alarmservice.dto.request.UserCreateRequestDto;
+import study.alarmservice.service.LoginManager;
+import study.alarmservice.service.UserService;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.http.MediaType.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {"app.auth.mode=token", "app.auth.token.secret=test-secret"})
+class TokenAuthApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    @DisplayName("토큰 모드 - 로그인하면 세션 없이 토큰 발급, 토큰으로 인증")
+    void login_issue_token() throws Exception {
+        // given
+        String email = "azurealstn33@gmail.com";
+        String password = "abcd1234!";
+
+        userService.join(UserCreateRequestDto.builder()
+                .email(email)
+                .password(password)
+                .build());
+
+        String content = objectMapper.writeValueAsString(LoginRequestDto.builder()
+                .email(email)
+                .password(password)
+                .build());
+
+        // when
+        String authorization = mockMvc.perform(post("/api/v1/login")
+                        .contentType(APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isOk())
+                .andExpect(cookie().httpOnly(LoginManager.TOKEN_COOKIE, true))
+                .andExpect(request().sessionAttributeDoesNotExist("loginUser"))
+                .andDo(print())
+                .andReturn().getResponse().getHeader(HttpHeaders.AUTHORIZATION);
+
+        // then
+        assertThat(authorization).startsWith("Bearer ");
+        mockMvc.perform(get("/api/v1/metrics/password-hash")
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.poolSize").exists())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("토큰 모드 - 토큰이 없거나 잘못되면 미인증")
+    void reject_invalid_token() throws Exception {
+        // expected
+        mockMvc.perform(get("/api/v1/metrics/password-hash"))
+                .andExpect(content().string(""))
+                .andDo(print());
+
+        mockMvc.perform(get("/api/v1/metrics/password-hash")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer invalid-token"))
+                .andExpect(content().string(""))
+                .andDo(print());
+    }
+}
@@ -4,16 +4,21 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpSession;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -21,9 +26,14 @@ import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.i18n.CookieLocaleResolver;
+import study.alarmservice.cache.RegisteredEmailFilter;
+import study.alarmservice.cache.UserPageCache;
+import study.alarmservice.constant.SessionConst;
+import study.alarmservice.domain.LoginUser;
 import study.alarmservice.domain.Role;
 import study.alarmservice.domain.User;
 import study.alarmservice.dto.request.LoginRequestDto;
+import study.alarmservice.dto.request.PagingCursor;
 import study.alarmservice.dto.request.UserCreateRequestDto;
 import study.alarmservice.dto.request.UserSearchDto;
 import study.alarmservice.repository.UserRepository;
@@ -61,6 +71,15 @@ class UserApiControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserPageCache userPageCache;
+
+    @BeforeEach
+    void setUp() {
+        // 롤백된 테스트 데이터로 만든 페이지가 남지 않도록
+        userPageCache.invalidateAll();
+    }
+
     @Test
     @DisplayName("회원가입 성공")
     void join_success() throws Exception {
@@ -469,6 +488,40 @@ class UserApiControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("회원 리스트 조회 - If-None-Match가 ETag와 같으면 304")
+    void get_users_not_modified() throws Exception {
+        // given
+        List<User> users = IntStream.range(1, 31)
+                .mapToObj(i -> User.builder()
+                        .email("abcde" + i + "@gmail.com")
+                        .password("12345")
+                        .role(Role.GUEST)
+                        .build())
+                .collect(Collectors.toList());
+
+        userRepository.saveAll(users);
+
+        String etag = mockMvc.perform(get("/api/v1/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // expected
+        mockMvc.perform(get("/api/v1/users")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andDo(print());
+
+        mockMvc.perform(get("/api/v1/users")
+                        .param("page", "2")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].email").value("abcde20@gmail.com"))
+                .andDo(print());
+    }
+
     @Test
     @DisplayName("회원 리스트 조회 2 페이지 - page와 size 파라미터를 넘겼을 경우")
     void get_users_with_paging_2() throws Exception {
@@ -643,6 +696,54 @@ class UserApiControllerTest {
                 .andDo(print());
     }
 
+    /**
+     * 가입 이메일 Bloom filter를 켠 경우 (기본은 꺼져 있다.)
+     */
+    @Nested
+    @TestPropertySource(properties = "app.email-filter.enabled=true")
+    class EmailFilterEnabled {
+
+        @Autowired
+        private RegisteredEmailFilter registeredEmailFilter;
+
+        @BeforeEach
+        void rebuild() throws InterruptedException {
+            for (int i = 0; i < 100 && !registeredEmailFilter.rebuild(); i++) {
+                Thread.sleep(50); // 시작할 때의 build가 끝날 때까지
+            }
+        }
+
+        @Test
+        @DisplayName("이메일 필터를 켜도 /api/v1/users로 가입한 회원은 바로 로그인 성공")
+        void join_then_login() throws Exception {
+            // given
+            String email = "Filtered@gmail.com";
+            String password = "abcd1234!";
+            assertTrue(registeredEmailFilter.getStats().isReady());
+            assertFalse(registeredEmailFilter.mightExist(email));
+
+            mockMvc.perform(post("/api/v1/users")
+                            .contentType(APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(UserCreateRequestDto.builder()
+                                    .email(email)
+                                    .password(password)
+                                    .build())))
+                    .andExpect(status().isOk());
+
+            String content = objectMapper.writeValueAsString(LoginRequestDto.builder()
+                    .email("filtered@gmail.com")
+                    .password(password)
+                    .build());
+
+            // expected
+            mockMvc.perform(post("/api/v1/login")
+                            .contentType(APPLICATION_JSON)
+                            .content(content))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.email").value(email));
+        }
+    }
+
     @Test
     @DisplayName("로그인 인증 실패 - 이메일")
     void login_fail_1() throws Exception {
@@ -725,11 +826,195 @@ class UserApiControllerTest {
                 .build();
 
         MockHttpServletRequest request = new MockHttpServletRequest();
-        userService.login(loginRequestDto, request);
+        userService.login(loginRequestDto, request, new MockHttpServletResponse());
 
         // expected
         mockMvc.perform(post("/api/v1/logout"))
                 .andExpect(status().isOk())
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("회원 리스트 커서 조회 - after 커서로 다음 페이지 조회")
+    void get_users_with_cursor() throws Exception {
+        // given
+        List<User> users = IntStream.range(1, 31)
+                .mapToObj(i -> User.builder()
+                        .email("abcde" + i + "@gmail.com")
+                        .password("12345")
+                        .role(Role.GUEST)
+                        .build())
+                .collect(Collectors.toList());
+
+        userRepository.saveAll(users);
+
+        String nextCursor = PagingCursor.encode(users.get(20).getId());
+
+        // expected
+        mockMvc.perform(get("/api/v1/users")
+                        .param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()", is(10)))
+                .andExpect(jsonPath("$.users[0].email").value("abcde20@gmail.com"))
+                .andExpect(jsonPath("$.paging.prev").value(true))
+                .andExpect(jsonPath("$.paging.next").value(true))
+                .andExpect(jsonPath("$.paging.nextCursor").value(PagingCursor.encode(users.get(10).getId())))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("회원 리스트 커서 조회 실패 - 잘못된 커서")
+    void get_users_with_invalid_cursor() throws Exception {
+        // expected
+        mockMvc.perform(get("/api/v1/users")
+                        .param("after", "invalid-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.message").value(messageSource.getMessage("paging.invalidCursor", null, Locale.KOREA)))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("회원 리스트 이메일 검색")
+    void get_users_search_email() throws Exception {
+        // given
+        List<User> users = IntStream.range(1, 31)
+                .mapToObj(i -> User.builder()
+                        .email((i % 3 == 0 ? "alarm" : "notice") + i + "@gmail.com")
+                        .password("12345")
+                        .role(Role.GUEST)
+                        .build())
+                .collect(Collectors.toList());
+
+        userRepository.saveAll(users);
+
+        // expected
+        mockMvc.perform(get("/api/v1/users")
+                        .param("searchEmail", "alarm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()", is(10)))
+                .andExpect(jsonPath("$.users[0].email").value("alarm30@gmail.com"))
+                .andExpect(jsonPath("$.paging.totalRowCount").value(10))
+                .andExpect(jsonPath("$.paging.totalPageCount").value(1))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("대량 회원가입 - NDJSON")
+    void bulk_join_ndjson() throws Exception {
+        // given
+        User loginUser = userRepository.save(User.builder()
+                .email("admin@gmail.com")
+                .password("12345")
+                .role(Role.ADMIN)
+                .build());
+
+        String content = String.join("\n",
+                "{\"email\":\"bulk1@gmail.com\",\"password\":\"abcd1234!\"}",
+                "{\"email\":\"bulk2@gmail.com\",\"password\":\"abcd1234!\"}",
+                "{\"email\":\"bulk1@gmail.com\",\"password\":\"abcd1234!\"}",
+                "{\"email\":\"admin@gmail.com\",\"password\":\"abcd1234!\"}",
+                "{\"email\":\"bulk3\",\"password\":\"abcd1234!\"}",
+                "not-json");
+
+        // when
+        String result = mockMvc.perform(post("/api/v1/imports/users")
+                        .sessionAttr(SessionConst.LOGIN_USER, LoginUser.of(loginUser))
+                        .contentType(APPLICATION_NDJSON)
+                        .content(content))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_NDJSON))
+                .andDo(print())
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        List<String> lines = result.lines().toList();
+        assertEquals(6, lines.size());
+        assertTrue(lines.get(0).contains("\"status\":\"CREATED\""));
+        assertTrue(lines.get(1).contains("\"status\":\"CREATED\""));
+        assertTrue(lines.get(2).contains("\"status\":\"DUPLICATE\""));
+        assertTrue(lines.get(3).contains("\"status\":\"DUPLICATE\""));
+        assertTrue(lines.get(4).contains("\"status\":\"INVALID\""));
+        assertTrue(lines.get(5).contains("\"status\":\"INVALID\""));
+        assertTrue(userRepository.findByEmail("bulk2@gmail.com").isPresent());
+    }
+
+    @Test
+    @DisplayName("대량 회원가입 - CSV")
+    void bulk_join_csv() throws Exception {
+        // given
+        User loginUser = userRepository.save(User.builder()
+                .email("admin@gmail.com")
+                .password("12345")
+                .role(Role.ADMIN)
+                .build());
+
+        String content = String.join("\n",
+                "email,password",
+                "csv1@gmail.com,abcd1234!",
+                "csv2@gmail.com,\"abc,1234!\"");
+
+        // when
+        mockMvc.perform(post("/api/v1/imports/users")
+                        .sessionAttr(SessionConst.LOGIN_USER, LoginUser.of(loginUser))
+                        .contentType("text/csv")
+                        .content(content))
+                .andExpect(status().isOk())
+                .andDo(print());
+
+        // then
+        assertTrue(userRepository.findByEmail("csv1@gmail.com").isPresent());
+        assertTrue(userRepository.findByEmail("csv2@gmail.com").isPresent());
+    }
+
+    @Test
+    @DisplayName("전체 회원 내보내기 - NDJSON")
+    void export_ndjson() throws Exception {
+        // given
+        User loginUser = userRepository.save(User.builder()
+                .email("admin@gmail.com")
+                .password("12345")
+                .role(Role.ADMIN)
+                .build());
+        userRepository.saveAllAndFlush(IntStream.range(0, 3)
+                .mapToObj(i -> User.builder().email("export" + i + "@gmail.com").password("12345").role(Role.GUEST).build())
+                .toList());
+
+        // when
+        String result = mockMvc.perform(get("/api/v1/exports/users")
+                        .sessionAttr(SessionConst.LOGIN_USER, LoginUser.of(loginUser))
+                        .accept(APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("users.ndjson")))
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        List<String> lines = result.lines().toList();
+        assertEquals(4, lines.size());
+        assertEquals("{\"userId\":" + loginUser.getId() + ",\"email\":\"admin@gmail.com\"}", lines.get(0));
+        assertTrue(lines.get(3).contains("\"email\":\"export2@gmail.com\""));
+    }
+
+    @Test
+    @DisplayName("전체 회원 내보내기 - CSV")
+    void export_csv() throws Exception {
+        // given
+        User loginUser = userRepository.saveAndFlush(User.builder()
+                .email("admin@gmail.com")
+                .password("12345")
+                .role(Role.ADMIN)
+                .build());
+
+        // when
+        String result = mockMvc.perform(get("/api/v1/exports/users")
+                        .sessionAttr(SessionConst.LOGIN_USER, LoginUser.of(loginUser))
+                        .accept("text/csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        assertEquals(List.of("userId,email", loginUser.getId() + ",admin@gmail.com"), result.lines().toList());
+    }
+}
@@ -0,0 +1,101 @@
+package study.alarmservice.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import study.alarmservice.metrics.MetricsRegistry;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReplicaLagMonitorTest {
+
+    private static final long CHECK_INTERVAL_MILLIS = 1000;
+    private static final long MAX_LAG_MILLIS = 1500;
+
+    private final AtomicLong now = new AtomicLong(Instant.parse("2024-01-01T00:00:00Z").toEpochMilli());
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+        }
+    };
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = h2("lag-primary");
+        DataSource replicaDataSource = h2("lag-replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table replica_heartbeat (id int primary key, beat_at bigint not null)");
+        replica.update("insert into replica_heartbeat (id, beat_at) values (1, 0)");
+        monitor = new ReplicaLagMonitor(primaryDataSource, Map.of("replica-1", replicaDataSource), MAX_LAG_MILLIS, new MetricsRegistry(), clock);
+    }
+
+    @Test
+    @DisplayName("복제가 따라온 replica는 측정 주기만큼 지나도 지연 0")
+    void replicated_replica_is_healthy() {
+        // given
+        replicateHeartbeat();
+        now.addAndGet(CHECK_INTERVAL_MILLIS);
+
+        // when
+        monitor.check();
+
+        // then
+        assertThat(monitor.getHealthyReplicas()).containsExactly("replica-1");
+    }
+
+    @Test
+    @DisplayName("heartbeat 한 번만큼 뒤처진 replica는 계속 읽기에 쓰고, 두 번 뒤처지면 뺀다.")
+    void one_beat_behind_is_healthy() {
+        // given
+        replicateHeartbeat();
+        now.addAndGet(CHECK_INTERVAL_MILLIS);
+        monitor.check();
+        now.addAndGet(CHECK_INTERVAL_MILLIS);
+
+        // when
+        monitor.check();
+
+        // then
+        assertThat(monitor.getHealthyReplicas()).containsExactly("replica-1");
+
+        now.addAndGet(CHECK_INTERVAL_MILLIS);
+        monitor.check();
+        assertThat(monitor.getHealthyReplicas()).isEmpty();
+    }
+
+    private void replicateHeartbeat() {
+        Long beat = primary.queryForObject("select beat_at from replica_heartbeat where id = 1", Long.class);
+        replica.update("update replica_heartbeat set beat_at = ? where id = 1", beat);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+}
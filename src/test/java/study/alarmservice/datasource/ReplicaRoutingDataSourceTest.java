@@ -0,0 +1,207 @@
+package study.alarmservice.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import study.alarmservice.cache.RegisteredEmailFilter;
+import study.alarmservice.cache.UserCountCache;
+import study.alarmservice.cache.UserPageCache;
+import study.alarmservice.dto.request.LoginRequestDto;
+import study.alarmservice.dto.request.UserCreateRequestDto;
+import study.alarmservice.dto.request.UserSearchDto;
+import study.alarmservice.repository.UserRepository;
+import study.alarmservice.service.UserBulkJoinService;
+import study.alarmservice.service.UserCountService;
+import study.alarmservice.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * primary, replica 모두 내장 H2 (복제는 replicate()에서 primary의 SCRIPT를 replica에 그대로 실행해서 흉내 낸다.)
+ */
+@SpringBootTest(properties = {
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replicas=jdbc:h2:mem:replica-${random.uuid};NON_KEYWORDS=USER",
+        "app.datasource.routing.max-lag=2h",
+        "app.datasource.routing.check-interval=1h",
+        "app.email-filter.enabled=true"})
+class ReplicaRoutingDataSourceTest {
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Autowired
+    private UserCountService userCountService;
+
+    @Autowired
+    private UserCountCache userCountCache;
+
+    @Autowired
+    private UserPageCache userPageCache;
+
+    @Autowired
+    private UserBulkJoinService userBulkJoinService;
+
+    @Autowired
+    private PrimaryStickiness primaryStickiness;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(replicaLagMonitor.getPrimary());
+        replica = new JdbcTemplate(replicaLagMonitor.getReplicas().get("replica-1"));
+        replicate();
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 replica, 쓰기는 primary")
+    void read_only_to_replica() {
+        // given
+        Long userId = join("routing@gmail.com");
+
+        // expected
+        assertThat(primary.queryForObject("select count(*) from user where user_id = ?", Long.class, userId)).isOne();
+        assertThat(userRepository.findByNormalizedEmail("routing@gmail.com")).isEmpty();
+        assertThat(userRepository.findById(userId)).isEmpty();
+
+        replicate();
+        assertThat(userRepository.findByNormalizedEmail("routing@gmail.com")).isPresent();
+    }
+
+    @Test
+    @DisplayName("가입 직후 그 회원의 조회는 replica에 복제되기 전이라도 primary에서 찾는다.")
+    void read_your_writes_after_join() {
+        // given
+        Long userId = join("sticky@gmail.com");
+
+        // expected
+        assertThat(userService.findById(userId).getEmail()).isEqualTo("sticky@gmail.com");
+        assertThat(userRepository.findById(userId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("대량 가입한 회원도 replica에 복제되기 전에 primary에서 찾는다.")
+    void read_your_writes_after_bulk_join() throws IOException {
+        // given
+        userCountCache.invalidate();
+        String content = "{\"email\":\"Bulk@gmail.com\",\"password\":\"abcd1234!\"}";
+        userBulkJoinService.bulkJoin(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), false, new ByteArrayOutputStream());
+        Long userId = primary.queryForObject("select user_id from user where normalized_email = 'bulk@gmail.com'", Long.class);
+        LoginRequestDto loginRequestDto = LoginRequestDto.builder()
+                .email("bulk@gmail.com")
+                .password("abcd1234!")
+                .build();
+
+        // expected
+        assertThat(userRepository.findById(userId)).isEmpty();
+        assertThat(userService.findById(userId).getEmail()).isEqualTo("Bulk@gmail.com");
+        assertThat(userService.login(loginRequestDto, new MockHttpServletRequest(), new MockHttpServletResponse()).getUserId()).isEqualTo(userId);
+        assertThat(userCountService.cachedCount(new UserSearchDto())).isEqualTo(userCountService.count(new UserSearchDto()) + 1);
+    }
+
+    @Test
+    @DisplayName("primary에서 읽는 중에 별도 스레드에서 실행하는 count 쿼리(CountMode.CONCURRENT)도 primary에서 실행한다.")
+    void count_async_follows_primary() {
+        // given
+        join("async@gmail.com");
+        UserSearchDto userSearchDto = new UserSearchDto();
+        int replicaCount = userCountService.count(userSearchDto);
+
+        // when
+        int count = primaryStickiness.onPrimary(() -> userCountService.countAsync(userSearchDto).join());
+
+        // then
+        assertThat(count).isEqualTo(replicaCount + 1);
+    }
+
+    @Test
+    @DisplayName("replica 지연이 max-lag를 넘으면 primary에서 읽는다.")
+    void lagging_replica_falls_back_to_primary() {
+        // given
+        join("lagging@gmail.com");
+        replica.update("update replica_heartbeat set beat_at = beat_at - ?", Duration.ofHours(3).toMillis());
+
+        // when
+        replicaLagMonitor.check();
+
+        // then
+        assertThat(replicaLagMonitor.getHealthyReplicas()).isEmpty();
+        assertThat(userRepository.findByNormalizedEmail("lagging@gmail.com")).isPresent();
+    }
+
+    @Test
+    @DisplayName("email filter는 replica에 복제되기 전인 회원까지 primary에서 읽어서 만든다.")
+    void email_filter_built_on_primary() throws InterruptedException {
+        // given
+        join("filter@gmail.com");
+
+        // when
+        for (int i = 0; i < 100 && !registeredEmailFilter.rebuild(); i++) {
+            Thread.sleep(50); // 시작할 때의 build가 끝날 때까지
+        }
+
+        // then
+        assertThat(userRepository.findByNormalizedEmail("filter@gmail.com")).isEmpty();
+        assertThat(registeredEmailFilter.mightExist("filter@gmail.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("가입 직후 다시 적재하는 회원 리스트, 회원 수 캐시는 replica에 복제되기 전이라도 primary에서 읽는다.")
+    void user_list_caches_reload_on_primary() {
+        // given
+        userCountCache.invalidate();
+        userPageCache.invalidateAll();
+        join("cached@gmail.com");
+        UserSearchDto userSearchDto = new UserSearchDto();
+
+        // when
+        Integer cachedCount = userCountService.cachedCount(userSearchDto);
+        UserPageCache.CachedPage page = userPageCache.get(userSearchDto, () -> userService.findAll(userSearchDto));
+
+        // then
+        assertThat(cachedCount).isEqualTo(userCountService.count(userSearchDto) + 1);
+        assertThat(new String(page.getBody(), StandardCharsets.UTF_8)).contains("cached@gmail.com");
+    }
+
+    private Long join(String email) {
+        return userService.join(UserCreateRequestDto.builder()
+                .email(email)
+                .password("abcd1234!")
+                .build());
+    }
+
+    /**
+     * heartbeat를 새로 쓰고 primary 전체를 replica로 복사한 뒤 다시 측정한다. (지연 0에 가까운 replica)
+     */
+    private void replicate() {
+        replicaLagMonitor.check();
+        List<String> script = primary.queryForList("script", String.class);
+        replica.execute("drop all objects");
+        script.forEach(replica::execute);
+        replicaLagMonitor.check();
+        assertThat(replicaLagMonitor.getHealthyReplicas()).containsExactly("replica-1");
+    }
+}
@@ -0,0 +1,86 @@
+package study.alarmservice.i18n;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CompiledMessageSourceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("ResourceBundleMessageSource와 같은 메시지를 locale fallback을 적용해서 조회")
+    void get_message() {
+        // given
+        CompiledMessageSource messageSource = new CompiledMessageSource(List.of("messages", "errors"), Duration.ZERO);
+        ResourceBundleMessageSource resourceBundleMessageSource = new ResourceBundleMessageSource();
+        resourceBundleMessageSource.setBasenames("messages", "errors");
+        resourceBundleMessageSource.setDefaultEncoding("UTF-8");
+        resourceBundleMessageSource.setFallbackToSystemLocale(false);
+
+        // expected
+        for (String code : List.of("email.notBlank", "password.pattern", "badRequest", "user.notFound", "login.fail")) {
+            for (Locale locale : List.of(Locale.KOREA, Locale.ENGLISH, Locale.US, Locale.FRANCE)) {
+                assertThat(messageSource.getMessage(code, null, locale))
+                        .isEqualTo(resourceBundleMessageSource.getMessage(code, null, locale));
+            }
+        }
+        assertThat(messageSource.getMessage("user.notFound", null, Locale.US)).isEqualTo("The member cannot be found.");
+        assertThat(messageSource.getMessage("unknown", null, null, Locale.KOREA)).isNull();
+        assertThatThrownBy(() -> messageSource.getMessage("unknown", null, Locale.KOREA))
+                .isInstanceOf(NoSuchMessageException.class);
+    }
+
+    @Test
+    @DisplayName("인자가 있으면 MessageFormat으로 만들고, MessageSourceResolvable 인자는 메시지로 바꿈")
+    void get_message_with_arguments() throws IOException {
+        // given
+        Files.writeString(dir.resolve("test.properties"), "greeting={0}님 안녕하세요\nname=회원\n");
+        Files.writeString(dir.resolve("test_en.properties"), "greeting=Hello {0}\nname=member\n");
+        CompiledMessageSource messageSource = new CompiledMessageSource(List.of("file:" + dir + "/test"), Duration.ZERO);
+        DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(
+                new String[]{"missing", "greeting"}, new Object[]{new DefaultMessageSourceResolvable("name")});
+
+        // expected
+        assertThat(messageSource.getMessage(resolvable, Locale.KOREA)).isEqualTo("회원님 안녕하세요");
+        assertThat(messageSource.getMessage(resolvable, Locale.US)).isEqualTo("Hello member");
+        assertThat(messageSource.getMessage("greeting", new Object[]{"Kim"}, Locale.ENGLISH)).isEqualTo("Hello Kim");
+        assertThat(messageSource.getMessage("missing", new Object[]{"Kim"}, "Hi {0}", Locale.ENGLISH)).isEqualTo("Hi Kim");
+    }
+
+    @Test
+    @DisplayName("파일이 바뀐 경우에만 catalog를 교체하고 listener 실행")
+    void reload() throws IOException {
+        // given
+        Path file = dir.resolve("test.properties");
+        Files.writeString(file, "greeting=hello\n");
+        CompiledMessageSource messageSource = new CompiledMessageSource(List.of("file:" + dir + "/test"), Duration.ZERO);
+        AtomicInteger reloaded = new AtomicInteger();
+        messageSource.addReloadListener(reloaded::incrementAndGet);
+
+        // when
+        boolean unchanged = messageSource.reload();
+        Files.writeString(file, "greeting=hi\n");
+        boolean changed = messageSource.reload();
+
+        // then
+        assertThat(unchanged).isFalse();
+        assertThat(changed).isTrue();
+        assertThat(reloaded.get()).isEqualTo(1);
+        assertThat(messageSource.getMessage("greeting", null, Locale.KOREA)).isEqualTo("hi");
+    }
+}
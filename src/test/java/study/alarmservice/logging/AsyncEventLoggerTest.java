@@ -0,0 +1,158 @@
+package study.alarmservice.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import study.alarmservice.constant.LogOverflowPolicy;
+import study.alarmservice.metrics.MetricsRegistry;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AsyncEventLoggerTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AsyncEventLoggerTest.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BlockingAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        appender = new BlockingAppender();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("writer 스레드에서 순서대로 key=value 형식으로 출력")
+    void write_in_order() throws InterruptedException {
+        // given
+        AsyncEventLogger eventLogger = new AsyncEventLogger(new MetricsRegistry(), true, 16, LogOverflowPolicy.DROP);
+        release.countDown();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            eventLogger.info(logger, "login.success", "userId", i, "uri", "/api/v1/login");
+        }
+        eventLogger.shutdown();
+
+        // then
+        assertThat(appender.list).hasSize((int) (100 - eventLogger.getDropped()));
+        assertThat(appender.list.get(0).getFormattedMessage())
+                .isEqualTo("login.success userId=0 uri=/api/v1/login thread=" + Thread.currentThread().getName());
+        assertThat(appender.list.get(0).getThreadName()).isEqualTo("async-event-logger");
+    }
+
+    @Test
+    @DisplayName("버퍼가 가득 차면 DROP 정책은 버리고 개수를 센다")
+    void drop_when_full() throws InterruptedException {
+        // given
+        AsyncEventLogger eventLogger = new AsyncEventLogger(new MetricsRegistry(), true, 4, LogOverflowPolicy.DROP);
+        eventLogger.info(logger, "first");
+        appender.awaitFirstAppend();
+
+        // when (writer가 첫 이벤트 출력에서 멈춘 동안)
+        for (int i = 0; i < 10; i++) {
+            eventLogger.info(logger, "event", "seq", i);
+        }
+        release.countDown();
+        eventLogger.shutdown();
+
+        // then
+        // 첫 이벤트 슬롯은 출력이 끝나야 비워지므로 나머지 3칸만 사용
+        assertThat(eventLogger.getDropped()).isEqualTo(7);
+        assertThat(eventLogger.getWritten()).isEqualTo(4);
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .startsWith("first thread=" + Thread.currentThread().getName());
+    }
+
+    @Test
+    @DisplayName("BLOCK 정책은 빈 자리가 생길 때까지 기다려서 유실 없음")
+    void block_when_full() throws InterruptedException {
+        // given
+        AsyncEventLogger eventLogger = new AsyncEventLogger(new MetricsRegistry(), true, 4, LogOverflowPolicy.BLOCK);
+        eventLogger.info(logger, "first");
+        appender.awaitFirstAppend();
+        Thread releaser = new Thread(() -> {
+            sleep(100);
+            release.countDown();
+        });
+        releaser.start();
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            eventLogger.info(logger, "event", "seq", i);
+        }
+        eventLogger.shutdown();
+
+        // then
+        assertThat(eventLogger.getDropped()).isZero();
+        assertThat(appender.list).hasSize(11);
+    }
+
+    @Test
+    @DisplayName("버퍼가 비면 writer는 깨어나지 않고 기다리다가, 새 이벤트가 오면 바로 출력")
+    void park_when_idle() throws InterruptedException {
+        // given
+        AsyncEventLogger eventLogger = new AsyncEventLogger(new MetricsRegistry(), true, 16, LogOverflowPolicy.DROP);
+        release.countDown();
+        for (int i = 0; i < 100 && !eventLogger.isWriterParked(); i++) {
+            sleep(10);
+        }
+        assertThat(eventLogger.isWriterParked()).isTrue();
+
+        // when
+        eventLogger.info(logger, "login.success", "userId", 1L);
+        for (int i = 0; i < 100 && eventLogger.getWritten() == 0; i++) {
+            sleep(10);
+        }
+
+        // then
+        assertThat(eventLogger.getWritten()).isEqualTo(1);
+        assertThat(appender.list).hasSize(1);
+        eventLogger.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 첫 이벤트를 출력하다가 release 될 때까지 멈추는 appender (느린 appender 흉내)
+     */
+    private class BlockingAppender extends ListAppender<ILoggingEvent> {
+
+        private final CountDownLatch firstAppend = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            super.append(event);
+            firstAppend.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void awaitFirstAppend() throws InterruptedException {
+            firstAppend.await(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package study.alarmservice.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("버킷 경계는 값을 포함하고 상대 오차는 약 3% 이내")
+    void bucket_bounds() {
+        for (long value = 0; value < 1L << 36; value = value * 3 / 2 + 1) {
+            // given
+            int index = LatencyHistogram.indexOf(value);
+
+            // when
+            long highest = LatencyHistogram.highestValueOf(index);
+            long lowest = index == 0 ? 0 : LatencyHistogram.highestValueOf(index - 1) + 1;
+
+            // then
+            assertThat(value).isBetween(lowest, highest);
+            assertThat(highest - lowest).isLessThanOrEqualTo(Math.max(0, value / 32));
+        }
+        assertThat(LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    @DisplayName("1ms ~ 100ms 균등 분포의 p50, p99, 누적 개수")
+    void quantiles() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        // when
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        // then
+        assertThat(snapshot.getCount()).isEqualTo(100);
+        assertThat(snapshot.getTotalNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(5050));
+        assertThat(snapshot.valueAtQuantile(0.5)).isCloseTo(TimeUnit.MILLISECONDS.toNanos(50), withinPercentage(4));
+        assertThat(snapshot.valueAtQuantile(0.99)).isCloseTo(TimeUnit.MILLISECONDS.toNanos(99), withinPercentage(4));
+        assertThat(snapshot.countAtOrBelow(TimeUnit.MILLISECONDS.toNanos(10))).isBetween(9L, 10L);
+        assertThat(snapshot.countAtOrBelow(LatencyHistogram.MAX_VALUE)).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 기록해도 누락 없음")
+    void concurrent_record() throws InterruptedException {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int n = 0; n < 10_000; n++) {
+                    histogram.record(n);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(histogram.snapshot().getCount()).isEqualTo(80_000);
+    }
+}
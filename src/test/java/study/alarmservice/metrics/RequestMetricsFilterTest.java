@@ -0,0 +1,75 @@
+package study.alarmservice.metrics;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import study.alarmservice.domain.Role;
+import study.alarmservice.domain.User;
+import study.alarmservice.dto.request.UserSearchDto;
+import study.alarmservice.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Transactional
+@SpringBootTest(properties = "app.sql.count-rows=true")
+class RequestMetricsFilterTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Test
+    @DisplayName("요청 스레드에서 실행된 SQL 문 수와 조회 row 수 집계")
+    void sql_stats() {
+        // given
+        List<User> users = IntStream.range(0, 3)
+                .mapToObj(i -> User.builder().email("sql" + i + "@gmail.com").password("1234").role(Role.GUEST).build())
+                .toList();
+        userRepository.saveAllAndFlush(users);
+
+        // when
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            userRepository.findUsers(UserSearchDto.builder().page(1).size(10).build());
+        } finally {
+            SqlRequestStats.end();
+        }
+
+        // then
+        assertThat(stats.getStatements()).isEqualTo(1);
+        assertThat(stats.getRows()).isEqualTo(3);
+        assertThat(stats.getNanos()).isPositive();
+        assertThat(SqlRequestStats.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("한 요청에서 같은 select가 threshold번 이상 실행되면 N+1로 의심하고 실패")
+    void n_plus_one() throws Exception {
+        // given
+        RequestMetricsFilter filter = new RequestMetricsFilter(metricsRegistry, 5, true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users");
+        HandlerMethod handlerMethod = new HandlerMethod(this, getClass().getDeclaredMethod("n_plus_one"));
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handlerMethod);
+        FilterChain chain = (req, res) -> LongStream.rangeClosed(1_000_001, 1_000_005).forEach(id -> userRepository.findById(id));
+
+        // expected
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), chain))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("N+1");
+        assertThat(metricsRegistry.sql(handlerMethod.getMethod()).getNPlusOneSuspected()).isEqualTo(1);
+        assertThat(metricsRegistry.sql(handlerMethod.getMethod()).getStatements()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,78 @@
+package study.alarmservice.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import study.alarmservice.controller.UserApiController;
+import study.alarmservice.dto.request.LoginRequestDto;
+import study.alarmservice.metrics.MetricsRegistry;
+import study.alarmservice.metrics.SqlCounters;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.http.MediaType.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "app.login-rate-limit.enabled=true",
+        "app.login-rate-limit.email.limit=2",
+        "app.login-rate-limit.ip.limit=3"})
+class LoginRateLimiterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Test
+    @DisplayName("이메일, IP별 시도 횟수를 넘으면 회원 조회 없이 429")
+    void login_rate_limited() throws Exception {
+        // given
+        String sameEmailOtherCase = login("Limited@gmail.com");
+        String content = login("limited@gmail.com");
+
+        mockMvc.perform(post("/api/v1/login").contentType(APPLICATION_JSON).content(content))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/v1/login").contentType(APPLICATION_JSON).content(sameEmailOtherCase))
+                .andExpect(status().isNotFound());
+
+        SqlCounters sqlCounters = metricsRegistry.sql(UserApiController.class.getMethod("login",
+                LoginRequestDto.class, HttpServletRequest.class, HttpServletResponse.class));
+        long statements = sqlCounters.getStatements();
+
+        // expected
+        mockMvc.perform(post("/api/v1/login").contentType(APPLICATION_JSON).content(content))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.code").value(429))
+                .andExpect(jsonPath("$.message").isNotEmpty());
+        assertThat(sqlCounters.getStatements()).isEqualTo(statements);
+
+        // IP 한도(3번)도 다 썼으므로 다른 이메일도 거절
+        mockMvc.perform(post("/api/v1/login").contentType(APPLICATION_JSON).content(login("another@gmail.com")))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(post("/api/v1/login").contentType(APPLICATION_JSON).content(login("another@gmail.com"))
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.2");
+                            return request;
+                        }))
+                .andExpect(status().isNotFound());
+    }
+
+    private String login(String email) throws Exception {
+        return objectMapper.writeValueAsString(LoginRequestDto.builder()
+                .email(email)
+                .password("abcd1234!")
+                .build());
+    }
+}
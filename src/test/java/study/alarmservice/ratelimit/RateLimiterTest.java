@@ -0,0 +1,83 @@
+package study.alarmservice.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("period 동안 limit번까지 허용하고, interval(period / limit)마다 한 번씩 다시 허용")
+    void limit_and_refill() {
+        // given
+        RateLimiter rateLimiter = new RateLimiter(5, Duration.ofMinutes(1), 1024);
+        long now = System.nanoTime();
+
+        // expected
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("user@gmail.com", now)).isTrue();
+        }
+        assertThat(rateLimiter.tryAcquire("user@gmail.com", now)).isFalse();
+        assertThat(rateLimiter.tryAcquire("other@gmail.com", now)).isTrue();
+
+        assertThat(rateLimiter.tryAcquire("user@gmail.com", now + 11 * SECOND)).isFalse();
+        assertThat(rateLimiter.tryAcquire("user@gmail.com", now + 12 * SECOND)).isTrue();
+        assertThat(rateLimiter.tryAcquire("user@gmail.com", now + 12 * SECOND)).isFalse();
+        assertThat(rateLimiter.getRejected()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("테이블보다 많은 key가 들어와도 크기는 고정, 한도가 풀린 key 자리는 재사용")
+    void bounded() {
+        // given
+        RateLimiter rateLimiter = new RateLimiter(1, Duration.ofSeconds(1), 256);
+        long now = System.nanoTime();
+
+        // when
+        for (int i = 0; i < 10_000; i++) {
+            rateLimiter.tryAcquire("key" + i, now);
+        }
+        long evictedWhileActive = rateLimiter.getEvicted();
+        for (int i = 0; i < 10_000; i++) {
+            rateLimiter.tryAcquire("next" + i, now + 2 * SECOND);
+        }
+
+        // then
+        assertThat(rateLimiter.capacity()).isEqualTo(256);
+        assertThat(evictedWhileActive).isPositive();
+        assertThat(rateLimiter.countActiveKeys()).isLessThanOrEqualTo(256);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 같은 key로 동시에 요청해도 limit번만 허용")
+    void concurrent() throws InterruptedException {
+        // given
+        RateLimiter rateLimiter = new RateLimiter(100, Duration.ofHours(1), 1024);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // when
+        for (int i = 0; i < 1_000; i++) {
+            executor.execute(() -> {
+                if (rateLimiter.tryAcquire("hot@gmail.com")) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(allowed.get()).isEqualTo(100);
+        assertThat(rateLimiter.getRejected()).isEqualTo(900);
+    }
+}
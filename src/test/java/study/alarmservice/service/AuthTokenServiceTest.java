@@ -0,0 +1,65 @@
+package study.alarmservice.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import study.alarmservice.domain.LoginUser;
+import study.alarmservice.domain.Role;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AuthTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("발급한 토큰을 검증하면 id와 권한을 복원")
+    void issue_and_verify() {
+        // given
+        AuthTokenService authTokenService = tokenService("secret", NOW);
+
+        // when
+        String token = authTokenService.issue(new LoginUser(42L, Role.ADMIN));
+        LoginUser loginUser = authTokenService.verify(token);
+
+        // then
+        assertThat(token).hasSize(67);
+        assertThat(loginUser.getUserId()).isEqualTo(42L);
+        assertThat(loginUser.getRole()).isEqualTo(Role.ADMIN);
+    }
+
+    @Test
+    @DisplayName("변조되었거나 다른 secret으로 서명한 토큰은 null")
+    void verify_tampered() {
+        // given
+        AuthTokenService authTokenService = tokenService("secret", NOW);
+        String token = authTokenService.issue(new LoginUser(42L, Role.GUEST));
+        String other = tokenService("other", NOW).issue(new LoginUser(42L, Role.GUEST));
+        String tampered = (token.charAt(0) == 'A' ? 'B' : 'A') + token.substring(1);
+
+        // expected
+        assertThat(authTokenService.verify(tampered)).isNull();
+        assertThat(authTokenService.verify(other)).isNull();
+        assertThat(authTokenService.verify("not-a-token")).isNull();
+        assertThat(authTokenService.verify(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("만료된 토큰은 null")
+    void verify_expired() {
+        // given
+        String token = tokenService("secret", NOW).issue(new LoginUser(42L, Role.GUEST));
+
+        // expected
+        assertThat(tokenService("secret", NOW.plus(Duration.ofMinutes(29))).verify(token)).isNotNull();
+        assertThat(tokenService("secret", NOW.plus(Duration.ofMinutes(30))).verify(token)).isNull();
+    }
+
+    private AuthTokenService tokenService(String secret, Instant now) {
+        return new AuthTokenService(secret, Duration.ofMinutes(30), Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
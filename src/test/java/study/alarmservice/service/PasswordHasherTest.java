@@ -0,0 +1,111 @@
+package study.alarmservice.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import study.alarmservice.dto.response.PasswordHashStatsDto;
+import study.alarmservice.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (passwordHasher != null) {
+            passwordHasher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("해시 스레드와 큐가 가득 차면 429 예외로 즉시 거절")
+    void reject_when_queue_full() throws Exception {
+        // given
+        passwordHasher = new PasswordHasher(blockingEncoder(), 1, 1, Duration.ofSeconds(5));
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordHasher.matches("a", "a"));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordHasher.matches("b", "b"));
+        waitUntilQueued(1);
+
+        // expected
+        assertThatThrownBy(() -> passwordHasher.matches("c", "c"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasFieldOrPropertyWithValue("messageKey", "server.busy");
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+
+        PasswordHashStatsDto stats = passwordHasher.getStats();
+        assertThat(stats.getRejected()).isEqualTo(1);
+        assertThat(stats.getCompleted()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("timeout 안에 해시가 끝나지 않으면 429 예외")
+    void reject_when_timeout() {
+        // given
+        passwordHasher = new PasswordHasher(blockingEncoder(), 1, 1, Duration.ofMillis(50));
+
+        // expected
+        assertThatThrownBy(() -> passwordHasher.encode("a"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(passwordHasher.getStats().getTimedOut()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("대량 해시는 큐가 가득 차도 거절하지 않고 호출 스레드에서 처리")
+    void encode_all_caller_runs() {
+        // given
+        release.countDown();
+        passwordHasher = new PasswordHasher(blockingEncoder(), 1, 1, Duration.ofSeconds(5));
+
+        // when
+        List<String> encoded = passwordHasher.encodeAll(List.of("a", "b", "c", "d"));
+
+        // then
+        assertThat(encoded).containsExactly("hash:a", "hash:b", "hash:c", "hash:d");
+        assertThat(passwordHasher.getStats().getRejected()).isZero();
+    }
+
+    private void waitUntilQueued(int depth) throws InterruptedException {
+        for (int i = 0; i < 100 && passwordHasher.getStats().getQueueDepth() < depth; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                await();
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                await();
+                return rawPassword.toString().equals(encodedPassword);
+            }
+
+            private void await() {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+}
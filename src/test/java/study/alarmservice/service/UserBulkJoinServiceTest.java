@@ -0,0 +1,76 @@
+package study.alarmservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.alarmservice.dto.request.UserCreateRequestDto;
+import study.alarmservice.dto.response.BulkJoinStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 테스트 트랜잭션 없이 chunk마다 커밋한다. (insert 실패 후 한 건씩 다시 저장하는 경로 확인)
+ */
+@SpringBootTest(properties = "app.bulk-join.chunk-size=10")
+class UserBulkJoinServiceTest {
+
+    @Autowired
+    private UserBulkJoinService userBulkJoinService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("insert 시 이메일 unique 제약 위반만 DUPLICATE, 다른 제약 위반은 FAILED")
+    void constraint_violation_status() throws Exception {
+        // given
+        userService.join(UserCreateRequestDto.builder()
+                .email("legacy@gmail.com")
+                .password("abcd1234!")
+                .build());
+        // backfill 전 회원은 emailHash로 찾을 수 없어서 insert 때 unique 제약으로 걸러진다.
+        jdbcTemplate.update("update user set email_hash = null where normalized_email = 'legacy@gmail.com'");
+
+        String tooLong = "a".repeat(64) + "@" + "b".repeat(63) + "." + "c".repeat(63) + "." + "d".repeat(63) + ".com";
+        String content = String.join("\n",
+                "{\"email\":\"created@gmail.com\",\"password\":\"abcd1234!\"}",
+                "{\"email\":\"" + tooLong + "\",\"password\":\"abcd1234!\"}",
+                "{\"email\":\"Legacy@gmail.com\",\"password\":\"abcd1234!\"}");
+
+        // when
+        List<BulkJoinStatus> statuses = bulkJoin(content);
+
+        // then
+        assertThat(statuses).containsExactly(BulkJoinStatus.CREATED, BulkJoinStatus.FAILED, BulkJoinStatus.DUPLICATE);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from user where normalized_email = 'created@gmail.com'", Long.class)).isOne();
+    }
+
+    /**
+     * @return 행별 처리 결과 status
+     */
+    private List<BulkJoinStatus> bulkJoin(String content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userBulkJoinService.bulkJoin(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), false, out);
+        List<BulkJoinStatus> statuses = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).lines().toList()) {
+            statuses.add(BulkJoinStatus.valueOf(objectMapper.readTree(line).get("status").asText()));
+        }
+        return statuses;
+    }
+}
@@ -0,0 +1,68 @@
+package study.alarmservice.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.alarmservice.domain.User;
+import study.alarmservice.dto.request.UserCreateRequestDto;
+import study.alarmservice.repository.UserRepository;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+class UserEmailHashBackfillTest {
+
+    @Autowired
+    private UserEmailHashBackfill userEmailHashBackfill;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("가입하면 정규화한 이메일의 hash를 함께 저장하고, hash 인덱스로 찾는다.")
+    void join_with_email_hash() {
+        // given
+        Long userId = userService.join(UserCreateRequestDto.builder()
+                .email("Hashed@gmail.com")
+                .password("abcd1234!")
+                .build());
+
+        // when
+        User user = userRepository.findByHashedEmail("hashed@gmail.com").orElseThrow();
+
+        // then
+        assertThat(user.getId()).isEqualTo(userId);
+        assertThat(user.getEmailHash()).isEqualTo(User.hashEmail("hashed@gmail.com"));
+        assertThat(userRepository.findByHashedEmail("hashed2@gmail.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("hash가 없는 회원(컬럼 추가 전 가입)은 backfill로 채운다.")
+    void backfill() {
+        // given
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.update("insert into user (user_id, email, normalized_email, password, role, created_date, last_modified_date) "
+                    + "values (?, ?, ?, 'password', 'GUEST', now(), now())", 1_000_000 + id, "legacy" + id + "@gmail.com", "legacy" + id + "@gmail.com");
+        }
+        assertThat(userRepository.findByHashedEmail("legacy2@gmail.com")).isEmpty();
+
+        // when
+        long backfilled = userEmailHashBackfill.backfill();
+
+        // then
+        assertThat(backfilled).isEqualTo(3);
+        assertThat(userRepository.findByHashedEmail("legacy2@gmail.com")).isPresent();
+        assertThat(userEmailHashBackfill.isCompleted()).isTrue();
+        assertThat(userEmailHashBackfill.backfill()).isZero();
+    }
+}
@@ -0,0 +1,89 @@
+package study.alarmservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Transactional;
+import study.alarmservice.dto.request.LoginRequestDto;
+import study.alarmservice.dto.request.UserCreateRequestDto;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Transactional
+@SpringBootTest(properties = "app.login-tracker.capacity=2")
+class UserLoginTrackerTest {
+
+    @Autowired
+    private UserLoginTracker userLoginTracker;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clear() {
+        userLoginTracker.flush();
+    }
+
+    @Test
+    @DisplayName("로그인은 바로 update 하지 않고, 같은 회원의 로그인을 합쳐서 flush 때 한 번에 반영")
+    void login_then_flush() {
+        // given
+        Long userId = userService.join(UserCreateRequestDto.builder()
+                .email("tracked@gmail.com")
+                .password("abcd1234!")
+                .build());
+        LoginRequestDto loginRequestDto = LoginRequestDto.builder()
+                .email("tracked@gmail.com")
+                .password("abcd1234!")
+                .build();
+        userService.login(loginRequestDto, new MockHttpServletRequest(), new MockHttpServletResponse());
+        userService.login(loginRequestDto, new MockHttpServletRequest(), new MockHttpServletResponse());
+        assertThat(loginColumns(userId).get("login_count")).isEqualTo(0L);
+        assertThat(userLoginTracker.getPendingCount()).isEqualTo(1);
+
+        // when
+        int flushed = userLoginTracker.flush();
+
+        // then
+        Map<String, Object> columns = loginColumns(userId);
+        assertThat(flushed).isEqualTo(1);
+        assertThat(columns.get("login_count")).isEqualTo(2L);
+        assertThat(columns.get("last_login_at")).isNotNull();
+        assertThat(userLoginTracker.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("capacity만큼 모이면 새 회원의 로그인은 버리고 바로 flush 한다. (이미 모아 둔 회원은 계속 합친다.)")
+    void bounded() throws InterruptedException {
+        // given
+        long dropped = userLoginTracker.getDroppedCount();
+        userLoginTracker.record(1L);
+        userLoginTracker.record(2L);
+        userLoginTracker.record(1L);
+        assertThat(userLoginTracker.getPendingCount()).isEqualTo(2);
+
+        // when
+        userLoginTracker.record(3L);
+
+        // then
+        assertThat(userLoginTracker.getDroppedCount()).isEqualTo(dropped + 1);
+        for (int i = 0; i < 100 && userLoginTracker.getPendingCount() > 0; i++) {
+            Thread.sleep(50);
+        }
+        assertThat(userLoginTracker.getPendingCount()).isZero();
+    }
+
+    private Map<String, Object> loginColumns(Long userId) {
+        return jdbcTemplate.queryForMap("select login_count, last_login_at from user where user_id = ?", userId);
+    }
+}
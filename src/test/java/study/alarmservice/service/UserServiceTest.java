@@ -6,15 +6,27 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
+import study.alarmservice.cache.UserCountCache;
+import study.alarmservice.cache.UserResponseCache;
+import study.alarmservice.constant.SessionConst;
+import study.alarmservice.domain.LoginUser;
 import study.alarmservice.domain.Role;
 import study.alarmservice.domain.User;
+import study.alarmservice.dto.request.CountMode;
+import study.alarmservice.dto.request.EmailSearchType;
+import study.alarmservice.dto.request.LoginRequestDto;
+import study.alarmservice.dto.request.PagingMode;
 import study.alarmservice.dto.request.UserCreateRequestDto;
 import study.alarmservice.dto.request.UserSearchDto;
 import study.alarmservice.dto.response.UserPageResponseDto;
 import study.alarmservice.dto.response.UserResponseDto;
 import study.alarmservice.exception.EmailDuplicateException;
+import study.alarmservice.exception.InvalidCursorException;
 import study.alarmservice.exception.UserNotFoundException;
 import study.alarmservice.repository.UserRepository;
 
@@ -37,6 +49,12 @@ class UserServiceTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserCountCache userCountCache;
+
+    @Autowired
+    private UserResponseCache userResponseCache;
+
     @Test
     @DisplayName("회원가입 성공")
     void join_success() {
@@ -86,6 +104,47 @@ class UserServiceTest {
                 .isInstanceOf(EmailDuplicateException.class);
     }
 
+    @Test
+    @DisplayName("회원가입 실패 - 대소문자만 다른 이메일도 중복")
+    void join_fail_email_duplicate_ignore_case() {
+        // given
+        userService.join(UserCreateRequestDto.builder()
+                .email("azurealstn33@gmail.com")
+                .password("abcd1234!")
+                .build());
+
+        UserCreateRequestDto requestDto = UserCreateRequestDto.builder()
+                .email("AzureAlstn33@Gmail.com")
+                .password("abcd1234!")
+                .build();
+
+        // expected
+        assertThatThrownBy(() -> userService.join(requestDto))
+                .isInstanceOf(EmailDuplicateException.class);
+    }
+
+    @Test
+    @DisplayName("로그인 성공 - 가입할 때와 대소문자가 다른 이메일")
+    void login_ignore_email_case() {
+        // given
+        Long userId = userService.join(UserCreateRequestDto.builder()
+                .email("AzureAlstn33@gmail.com")
+                .password("abcd1234!")
+                .build());
+
+        LoginRequestDto loginRequestDto = LoginRequestDto.builder()
+                .email("azurealstn33@GMAIL.com")
+                .password("abcd1234!")
+                .build();
+
+        // when
+        UserResponseDto responseDto = userService.login(loginRequestDto, new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        // then
+        assertThat(responseDto.getUserId()).isEqualTo(userId);
+        assertThat(responseDto.getEmail()).isEqualTo("AzureAlstn33@gmail.com");
+    }
+
     @Test
     @DisplayName("회원가입 실패 - 이메일 빈값 검증")
     void join_fail_email_empty_valid() {
@@ -193,6 +252,29 @@ class UserServiceTest {
                 .isInstanceOf(UserNotFoundException.class);
     }
 
+    @Test
+    @DisplayName("회원 단건 조회 - 두 번째 조회부터 캐시 사용")
+    void user_find_one_cached() {
+        // given
+        String email = "azurealstn33@gmail.com";
+        String password = "abcd1234!";
+
+        Long savedId = userService.join(UserCreateRequestDto.builder()
+                .email(email)
+                .password(password)
+                .build());
+        UserResponseDto first = userService.findById(savedId);
+        long hitCount = userResponseCache.getStats().getHitCount();
+
+        // when
+        userRepository.deleteById(savedId);
+        UserResponseDto second = userService.findById(savedId);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(userResponseCache.getStats().getHitCount()).isEqualTo(hitCount + 1);
+    }
+
     @Test
     @DisplayName("회원 리스트 조회 1 페이지 - page와 size 파라미터를 넘기지 않았을 경우")
     void get_users_with_paging_1() {
@@ -282,4 +364,311 @@ class UserServiceTest {
         assertThat(responseDto.getPaging().getTotalRowCount()).isEqualTo(0);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("회원 리스트 커서 조회 - 다음 페이지와 이전 페이지 이동")
+    void get_users_with_cursor() {
+        // given
+        List<User> users = IntStream.range(1, 26)
+                .mapToObj(i -> User.builder()
+                        .email("abcde" + i + "@gmail.com")
+                        .password("12345")
+                        .role(Role.GUEST)
+                        .build())
+                .collect(Collectors.toList());
+
+        userRepository.saveAll(users);
+
+        // when
+        UserSearchDto first = new UserSearchDto();
+        first.setMode(PagingMode.CURSOR);
+        UserPageResponseDto firstPage = userService.findAll(first);
+
+        UserSearchDto second = new UserSearchDto();
+        second.setAfter(firstPage.getPaging().getNextCursor());
+        UserPageResponseDto secondPage = userService.findAll(second);
+
+        UserSearchDto back = new UserSearchDto();
+        back.setBefore(secondPage.getPaging().getPrevCursor());
+        UserPageResponseDto backPage = userService.findAll(back);
+
+        // then
+        assertThat(firstPage.getUsers().size()).isEqualTo(10);
+        assertThat(firstPage.getUsers().get(0).getEmail()).isEqualTo("abcde25@gmail.com");
+        assertThat(firstPage.getPaging().getPrevCursor()).isNull();
+        assertThat(firstPage.getPaging().isNext()).isTrue();
+
+        assertThat(secondPage.getUsers().size()).isEqualTo(10);
+        assertThat(secondPage.getUsers().get(0).getEmail()).isEqualTo("abcde15@gmail.com");
+        assertThat(secondPage.getUsers().get(9).getEmail()).isEqualTo("abcde6@gmail.com");
+        assertThat(secondPage.getPaging().isPrev()).isTrue();
+        assertThat(secondPage.getPaging().isNext()).isTrue();
+
+        assertThat(backPage.getUsers().get(0).getEmail()).isEqualTo("abcde25@gmail.com");
+        assertThat(backPage.getUsers().get(9).getEmail()).isEqualTo("abcde16@gmail.com");
+        assertThat(backPage.getPaging().isPrev()).isFalse();
+    }
+
+    @Test
+    @DisplayName("회원 리스트 커서 조회 - 마지막 페이지")
+    void get_users_with_cursor_last_page() {
+        // given
+        List<User> users = IntStream.range(1, 16)
+                .mapToObj(i -> User.builder()
+                        .email("abcde" + i + "@gmail.com")
+                        .password("12345")
+                        .role(Role.GUEST)
+                        .build())
+                .collect(Collectors.toList());
+
+        userRepository.saveAll(users);
+
+        UserSearchDto first = new UserSearchDto();
+        first.setMode(PagingMode.CURSOR);
+        UserPageResponseDto firstPage = userService.findAll(first);
+
+        // when
+        UserSearchDto second = new UserSearchDto();
+        second.setAfter(firstPage.getPaging().getNextCursor());
+        UserPageResponseDto lastPage = userService.findAll(second);
+
+        // then
+        assertThat(lastPage.getUsers().size()).isEqualTo(5);
+        assertThat(lastPage.getUsers().get(4).getEmail()).isEqualTo("abcde1@gmail.com");
+        assertThat(lastPage.getPaging().isNext()).isFalse();
+        assertThat(lastPage.getPaging().getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("회원 리스트 커서 조회 실패 - 잘못된 커서")
+    void get_users_with_invalid_cursor() {
+        // given
+        UserSearchDto userSearchDto = new UserSearchDto();
+        userSearchDto.setAfter("invalid-cursor");
+
+        // expected
+        assertThatThrownBy(() -> userService.findAll(userSearchDto))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    @DisplayName("회원 리스트 조회 - count 쿼리 생략 (CountMode.NONE)")
+    void get_users_without_count() {
+        // given
+        List<User> users = IntStream.range(1, 111)
+                .mapToObj(i -> User.builder()
+                        .email("abcde" + i + "@gmail.com")
+                        .password("12345")
+                        .role(Role.GUEST)
+                        .build())
+                .collect(Collectors.toList());
+
+        userRepository.saveAll(users);
+
+        UserSearchDto middle = UserSearchDto.builder()
+                .page(3)
+                .build();
+        middle.setCountMode(CountMode.NONE);
+
+        UserSearchDto last = UserSearchDto.builder()
+                .page(11)
+                .build();
+        last.setCountMode(CountMode.NONE);
+
+        // when
+        UserPageResponseDto middlePage = userService.findAll(middle);
+        UserPageResponseDto lastPage = userService.findAll(last);
+
+        // then
+        assertThat(middlePage.getUsers().size()).isEqualTo(10);
+        assertThat(middlePage.getUsers().get(0).getEmail()).isEqualTo("abcde90@gmail.com");
+        assertThat(middlePage.getPaging().getTotalRowCount()).isEqualTo(31);
+        assertThat(middlePage.getPaging().getTotalPageCount()).isEqualTo(4);
+        assertThat(middlePage.getPaging().isExactTotal()).isFalse();
+
+        assertThat(lastPage.getUsers().size()).isEqualTo(10);
+        assertThat(lastPage.getPaging().getTotalRowCount()).isEqualTo(110);
+        assertThat(lastPage.getPaging().getTotalPageCount()).isEqualTo(11);
+        assertThat(lastPage.getPaging().isExactTotal()).isTrue();
+    }
+
+    @Test
+    @DisplayName("회원 리스트 조회 - 캐시된 전체 회원 수 사용 (CountMode.CACHED)")
+    void get_users_with_cached_count() {
+        // given
+        userCountCache.invalidate();
+
+        List<User> users = IntStream.range(1, 21)
+                .mapToObj(i -> User.builder()
+                        .email("abcde" + i + "@gmail.com")
+                        .password("12345")
+                        .role(Role.GUEST)
+                        .build())
+                .collect(Collectors.toList());
+
+        userRepository.saveAll(users);
+
+        UserSearchDto userSearchDto = new UserSearchDto();
+        userSearchDto.setCountMode(CountMode.CACHED);
+
+        // when
+        UserPageResponseDto responseDto = userService.findAll(userSearchDto);
+
+        userRepository.save(User.builder()
+                .email("abcde21@gmail.com")
+                .password("12345")
+                .role(Role.GUEST)
+                .build());
+        UserPageResponseDto cachedResponseDto = userService.findAll(userSearchDto);
+
+        // then
+        assertThat(responseDto.getPaging().getTotalRowCount()).isEqualTo(20);
+        assertThat(responseDto.getPaging().getTotalPageCount()).isEqualTo(2);
+        assertThat(responseDto.getPaging().isExactTotal()).isFalse();
+        assertThat(cachedResponseDto.getUsers().get(0).getEmail()).isEqualTo("abcde21@gmail.com");
+        assertThat(cachedResponseDto.getPaging().getTotalRowCount()).isEqualTo(20);
+
+        userCountCache.invalidate();
+    }
+
+    @Test
+    @DisplayName("회원 리스트 이메일 검색 - 앞부분 일치")
+    void get_users_search_email_prefix() {
+        // given
+        List<User> users = IntStream.range(1, 31)
+                .mapToObj(i -> User.builder()
+                        .email((i % 2 == 0 ? "alarm" : "notice") + i + "@gmail.com")
+                        .password("12345")
+                        .role(Role.GUEST)
+                        .build())
+                .collect(Collectors.toList());
+
+        userRepository.saveAll(users);
+
+        UserSearchDto userSearchDto = new UserSearchDto();
+        userSearchDto.setSearchEmail("alarm");
+
+        // when
+        UserPageResponseDto responseDto = userService.findAll(userSearchDto);
+
+        // then
+        assertThat(responseDto.getUsers().size()).isEqualTo(10);
+        assertThat(responseDto.getUsers()).allMatch(user -> user.getEmail().startsWith("alarm"));
+        assertThat(responseDto.getUsers().get(0).getEmail()).isEqualTo("alarm30@gmail.com");
+        assertThat(responseDto.getPaging().getTotalRowCount()).isEqualTo(15);
+        assertThat(responseDto.getPaging().getTotalPageCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("회원 리스트 이메일 검색 - 앞부분 일치는 정규화한 이메일로 대소문자 구분 없이 검색")
+    void get_users_search_email_prefix_ignore_case() {
+        // given
+        List.of("Alarm.Upper@gmail.com", "alarm.lower@gmail.com", "other@alarm.io")
+                .forEach(email -> userService.join(UserCreateRequestDto.builder()
+                        .email(email)
+                        .password("abcd1234!")
+                        .build()));
+
+        UserSearchDto userSearchDto = new UserSearchDto();
+        userSearchDto.setSearchEmail(" ALARM.");
+
+        // when
+        UserPageResponseDto responseDto = userService.findAll(userSearchDto);
+
+        // then
+        assertThat(responseDto.getUsers())
+                .extracting(UserResponseDto::getEmail)
+                .containsExactly("alarm.lower@gmail.com", "Alarm.Upper@gmail.com");
+        assertThat(responseDto.getPaging().getTotalRowCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("회원 리스트 이메일 검색 - 부분 일치 (trigram 인덱스)")
+    void get_users_search_email_contains() {
+        // given
+        List.of("first.alarm@gmail.com", "second@alarm.io", "third@naver.com", "ALARM-upper@gmail.com")
+                .forEach(email -> userService.join(UserCreateRequestDto.builder()
+                        .email(email)
+                        .password("abcd1234!")
+                        .build()));
+
+        UserSearchDto userSearchDto = new UserSearchDto();
+        userSearchDto.setSearchEmail("alarm");
+        userSearchDto.setSearchType(EmailSearchType.CONTAINS);
+
+        UserSearchDto shortKeyword = new UserSearchDto();
+        shortKeyword.setSearchEmail("io");
+        shortKeyword.setSearchType(EmailSearchType.CONTAINS);
+
+        // when
+        UserPageResponseDto responseDto = userService.findAll(userSearchDto);
+        UserPageResponseDto shortKeywordResponseDto = userService.findAll(shortKeyword);
+
+        // then
+        assertThat(responseDto.getUsers())
+                .extracting(UserResponseDto::getEmail)
+                .containsExactly("second@alarm.io", "first.alarm@gmail.com");
+        assertThat(responseDto.getPaging().getTotalRowCount()).isEqualTo(2);
+        assertThat(shortKeywordResponseDto.getUsers())
+                .extracting(UserResponseDto::getEmail)
+                .containsExactly("second@alarm.io");
+    }
+
+    @Test
+    @DisplayName("로그인 성공 시 예전 해시는 현재 설정으로 다시 해시")
+    void login_rehash_legacy_password() {
+        // given
+        String email = "azurealstn33@gmail.com";
+        String password = "abcd1234!";
+        String legacyHash = new BCryptPasswordEncoder(4).encode(password);
+
+        User user = userRepository.save(User.builder()
+                .email(email)
+                .password(legacyHash)
+                .role(Role.GUEST)
+                .build());
+
+        LoginRequestDto loginRequestDto = LoginRequestDto.builder()
+                .email(email)
+                .password(password)
+                .build();
+
+        // when
+        userService.login(loginRequestDto, new MockHttpServletRequest(), new MockHttpServletResponse());
+        String rehashed = userRepository.findById(user.getId()).get().getPassword();
+
+        // then
+        assertThat(rehashed).isNotEqualTo(legacyHash);
+        assertThat(rehashed).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches(password, rehashed)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(rehashed)).isFalse();
+    }
+
+    @Test
+    @DisplayName("로그인 성공 시 세션에는 엔티티 대신 id와 권한만 저장")
+    void login_store_login_user_in_session() {
+        // given
+        String email = "azurealstn33@gmail.com";
+        String password = "abcd1234!";
+
+        Long savedId = userService.join(UserCreateRequestDto.builder()
+                .email(email)
+                .password(password)
+                .build());
+
+        LoginRequestDto loginRequestDto = LoginRequestDto.builder()
+                .email(email)
+                .password(password)
+                .build();
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        // when
+        userService.login(loginRequestDto, request, new MockHttpServletResponse());
+        Object loginUser = request.getSession().getAttribute(SessionConst.LOGIN_USER);
+
+        // then
+        assertThat(loginUser).isInstanceOf(LoginUser.class);
+        assertThat(((LoginUser) loginUser).getUserId()).isEqualTo(savedId);
+        assertThat(((LoginUser) loginUser).getRole()).isEqualTo(Role.GUEST);
+    }
+}
@@ -0,0 +1,109 @@
+package study.alarmservice.session;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import study.alarmservice.domain.LoginUser;
+import study.alarmservice.domain.Role;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OffHeapSessionStoreTest {
+
+    private final AtomicLong now = new AtomicLong(Instant.parse("2024-01-01T00:00:00Z").toEpochMilli());
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+        }
+    };
+
+    @Test
+    @DisplayName("세션에 로그인 사용자 저장 후 조회")
+    void set_and_get_login_user() {
+        // given
+        OffHeapSessionStore store = new OffHeapSessionStore(4, Duration.ofMinutes(30), clock);
+        String sessionId = store.create();
+
+        // when
+        LoginUser before = store.getLoginUser(sessionId);
+        store.setLoginUser(sessionId, new LoginUser(42L, Role.ADMIN));
+        LoginUser after = store.getLoginUser(sessionId);
+
+        // then
+        assertThat(before).isNull();
+        assertThat(after.getUserId()).isEqualTo(42L);
+        assertThat(after.getRole()).isEqualTo(Role.ADMIN);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("삭제된 세션의 슬롯을 재사용해도 이전 세션 id는 무효")
+    void reuse_slot_after_remove() {
+        // given
+        OffHeapSessionStore store = new OffHeapSessionStore(1, Duration.ofMinutes(30), clock);
+        String oldSessionId = store.create();
+        store.setLoginUser(oldSessionId, new LoginUser(1L, Role.GUEST));
+
+        // when
+        store.remove(oldSessionId);
+        String newSessionId = store.create();
+        store.setLoginUser(newSessionId, new LoginUser(2L, Role.GUEST));
+
+        // then
+        assertThat(newSessionId).isNotEqualTo(oldSessionId);
+        assertThat(store.getLoginUser(oldSessionId)).isNull();
+        assertThat(store.touch(oldSessionId)).isFalse();
+        assertThat(store.getLoginUser(newSessionId).getUserId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("TTL이 지난 세션은 조회되지 않고 정리 후 슬롯 반환")
+    void evict_expired() {
+        // given
+        OffHeapSessionStore store = new OffHeapSessionStore(2, Duration.ofMinutes(30), clock);
+        String expired = store.create();
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+        String alive = store.create();
+
+        // when
+        now.addAndGet(Duration.ofMinutes(15).toMillis());
+        int evicted = store.evictExpired();
+
+        // then
+        assertThat(evicted).isEqualTo(1);
+        assertThat(store.touch(expired)).isFalse();
+        assertThat(store.touch(alive)).isTrue();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("빈 슬롯이 없으면 null, 잘못된 세션 id는 무시")
+    void full_and_invalid_id() {
+        // given
+        OffHeapSessionStore store = new OffHeapSessionStore(1, Duration.ofMinutes(30), clock);
+        store.create();
+
+        // expected
+        assertThat(store.create()).isNull();
+        assertThat(store.getLoginUser("invalid")).isNull();
+        assertThat(store.getLoginUser(null)).isNull();
+        assertThat(store.setLoginUser("A".repeat(32), new LoginUser(1L, Role.GUEST))).isFalse();
+    }
+}